@@ -2,9 +2,18 @@ package com.github.jcommon.util;
 
 import com.github.jcommon.constant.CommonConstant;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.Base64.Decoder;
 import java.util.Base64.Encoder;
+import java.util.Objects;
 
 /**
  * Base64工具类
@@ -14,6 +23,23 @@ import java.util.Base64.Encoder;
  * @date 2016-04-05
  */
 public final class Base64Util {
+    /**
+     * 标准Base64编码表
+     */
+    private static final byte[] ENCODE_TABLE = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".getBytes(CommonConstant.UTF8_CHARSET);
+    /**
+     * 标准Base64解码表, 非法字符为-1
+     */
+    private static final int[] DECODE_TABLE = new int[128];
+    private static final byte PAD = '=';
+
+    static {
+        Arrays.fill(DECODE_TABLE, -1);
+        for (int i = 0; i < ENCODE_TABLE.length; i++) {
+            DECODE_TABLE[ENCODE_TABLE[i]] = i;
+        }
+    }
+
     /**
      * 对字节数组进行Base64加密
      */
@@ -98,6 +124,339 @@ public final class Base64Util {
         return decodeByByteArray(value.getBytes(CommonConstant.UTF8_CHARSET), Base64.getUrlDecoder());
     }
 
+    /**
+     * 包装输出流, 写入的数据经Base64编码后写入原输出流, 关闭时写入剩余编码数据并关闭原输出流
+     */
+    public static OutputStream encodeOutputStream(OutputStream os) {
+        return Base64.getEncoder().wrap(os);
+    }
+
+    /**
+     * 包装输入流, 读取原输入流的Base64数据并返回解码后的数据
+     */
+    public static InputStream decodeInputStream(InputStream is) {
+        return Base64.getDecoder().wrap(is);
+    }
+
+    /**
+     * 包装通道, 写入的数据经Base64编码后写入原通道, 关闭时写入剩余编码数据并关闭原通道
+     */
+    public static WritableByteChannel encodeChannel(WritableByteChannel channel) {
+        return Channels.newChannel(encodeOutputStream(Channels.newOutputStream(channel)));
+    }
+
+    /**
+     * 包装通道, 读取原通道的Base64数据并返回解码后的数据
+     */
+    public static ReadableByteChannel decodeChannel(ReadableByteChannel channel) {
+        return Channels.newChannel(decodeInputStream(Channels.newInputStream(channel)));
+    }
+
+    /**
+     * 将输入流数据进行Base64编码写入输出流, 使用固定大小的缓冲区, 不关闭流, 并返回输出流对象
+     */
+    public static <T extends OutputStream> T encode(InputStream is, T os) {
+        try (OutputStream encoder = encodeOutputStream(IOUtil.nonClosing(os))) {
+            IOUtil.copy(is, encoder);
+        } catch (IOException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+        return os;
+    }
+
+    /**
+     * 将输入流的Base64数据解码写入输出流, 使用固定大小的缓冲区, 不关闭流, 并返回输出流对象
+     */
+    public static <T extends OutputStream> T decode(InputStream is, T os) {
+        return IOUtil.copy(decodeInputStream(is), os);
+    }
+
+    /**
+     * 长度为len的数据Base64编码(带填充)后的长度
+     */
+    public static int encodedLength(int len) {
+        return (len + 2) / 3 << 2;
+    }
+
+    /**
+     * 将src从off开始的len个字节进行Base64编码, 写入dst从dstOff开始的位置, 返回写入的长度
+     */
+    public static int encode(byte[] src, int off, int len, byte[] dst, int dstOff) {
+        checkRange(src, off, len, dst, dstOff, encodedLength(len), dst == null ? 0 : dst.length);
+        int pos = dstOff;
+        int end = off + len - len % 3;
+        for (; off < end; off += 3) {
+            int bits = (src[off] & 0xFF) << 16 | (src[off + 1] & 0xFF) << 8 | src[off + 2] & 0xFF;
+            dst[pos++] = ENCODE_TABLE[bits >>> 18];
+            dst[pos++] = ENCODE_TABLE[bits >>> 12 & 0x3F];
+            dst[pos++] = ENCODE_TABLE[bits >>> 6 & 0x3F];
+            dst[pos++] = ENCODE_TABLE[bits & 0x3F];
+        }
+        int remain = len % 3;
+        if (remain > 0) {
+            int bits = (src[off] & 0xFF) << 16 | (remain == 2 ? (src[off + 1] & 0xFF) << 8 : 0);
+            dst[pos++] = ENCODE_TABLE[bits >>> 18];
+            dst[pos++] = ENCODE_TABLE[bits >>> 12 & 0x3F];
+            dst[pos++] = remain == 2 ? ENCODE_TABLE[bits >>> 6 & 0x3F] : PAD;
+            dst[pos++] = PAD;
+        }
+        return pos - dstOff;
+    }
+
+    /**
+     * 将src从off开始的len个字节进行Base64编码, 写入字符数组dst从dstOff开始的位置, 返回写入的长度
+     */
+    public static int encode(byte[] src, int off, int len, char[] dst, int dstOff) {
+        checkRange(src, off, len, dst, dstOff, encodedLength(len), dst == null ? 0 : dst.length);
+        int pos = dstOff;
+        int end = off + len - len % 3;
+        for (; off < end; off += 3) {
+            int bits = (src[off] & 0xFF) << 16 | (src[off + 1] & 0xFF) << 8 | src[off + 2] & 0xFF;
+            dst[pos++] = (char) ENCODE_TABLE[bits >>> 18];
+            dst[pos++] = (char) ENCODE_TABLE[bits >>> 12 & 0x3F];
+            dst[pos++] = (char) ENCODE_TABLE[bits >>> 6 & 0x3F];
+            dst[pos++] = (char) ENCODE_TABLE[bits & 0x3F];
+        }
+        int remain = len % 3;
+        if (remain > 0) {
+            int bits = (src[off] & 0xFF) << 16 | (remain == 2 ? (src[off + 1] & 0xFF) << 8 : 0);
+            dst[pos++] = (char) ENCODE_TABLE[bits >>> 18];
+            dst[pos++] = (char) ENCODE_TABLE[bits >>> 12 & 0x3F];
+            dst[pos++] = (char) (remain == 2 ? ENCODE_TABLE[bits >>> 6 & 0x3F] : PAD);
+            dst[pos++] = (char) PAD;
+        }
+        return pos - dstOff;
+    }
+
+    /**
+     * 将src的position到limit之间的数据进行Base64编码, 写入dst的position开始的位置, 返回写入的长度,
+     * 成功后src的position移动到limit, dst的position后移写入的长度
+     */
+    public static int encode(ByteBuffer src, ByteBuffer dst) {
+        Objects.requireNonNull(src, "src must be not null");
+        Objects.requireNonNull(dst, "dst must be not null");
+        int len = src.remaining();
+        int required = encodedLength(len);
+        if (dst.remaining() < required) {
+            throw new IllegalArgumentException("dst remaining: " + dst.remaining() + ", required: " + required);
+        }
+        if (src.hasArray() && dst.hasArray()) {
+            encode(src.array(), src.arrayOffset() + src.position(), len, dst.array(), dst.arrayOffset() + dst.position());
+        } else {
+            for (int remain; (remain = src.remaining()) > 0; ) {
+                int bits = (src.get() & 0xFF) << 16 | (remain > 1 ? (src.get() & 0xFF) << 8 : 0) | (remain > 2 ? src.get() & 0xFF : 0);
+                dst.put(ENCODE_TABLE[bits >>> 18]);
+                dst.put(ENCODE_TABLE[bits >>> 12 & 0x3F]);
+                dst.put(remain > 1 ? ENCODE_TABLE[bits >>> 6 & 0x3F] : PAD);
+                dst.put(remain > 2 ? ENCODE_TABLE[bits & 0x3F] : PAD);
+            }
+            return required;
+        }
+        src.position(src.limit());
+        dst.position(dst.position() + required);
+        return required;
+    }
+
+    /**
+     * Base64数据(可省略填充)解码后的长度
+     */
+    public static int decodedLength(byte[] src, int off, int len) {
+        checkRange(src, off, len, src, 0, 0, 0);
+        int pad = 0;
+        if (len > 0 && src[off + len - 1] == PAD) {
+            pad++;
+            if (len > 1 && src[off + len - 2] == PAD) {
+                pad++;
+            }
+        }
+        return decodedLength(len, pad);
+    }
+
+    /**
+     * Base64字符串(可省略填充)解码后的长度
+     */
+    public static int decodedLength(CharSequence src) {
+        Objects.requireNonNull(src, "src must be not null");
+        int len = src.length();
+        int pad = 0;
+        if (len > 0 && src.charAt(len - 1) == PAD) {
+            pad++;
+            if (len > 1 && src.charAt(len - 2) == PAD) {
+                pad++;
+            }
+        }
+        return decodedLength(len, pad);
+    }
+
+    /**
+     * 将src从off开始的len个字节进行Base64解码, 写入dst从dstOff开始的位置, 返回写入的长度
+     */
+    public static int decode(byte[] src, int off, int len, byte[] dst, int dstOff) {
+        int required = decodedLength(src, off, len);
+        checkRange(src, off, len, dst, dstOff, required, dst == null ? 0 : dst.length);
+        int pos = dstOff;
+        int bits = 0;
+        int count = 0;
+        for (int i = 0, n = dataLength(len, required); i < n; i++) {
+            bits = bits << 6 | sextet(src[off + i]);
+            if (++count == 4) {
+                dst[pos++] = (byte) (bits >> 16);
+                dst[pos++] = (byte) (bits >> 8);
+                dst[pos++] = (byte) bits;
+                bits = 0;
+                count = 0;
+            }
+        }
+        return pos - dstOff + tail(bits, count, dst, pos);
+    }
+
+    /**
+     * 将Base64字符串进行解码, 写入dst从dstOff开始的位置, 返回写入的长度, 不进行字符集转换
+     */
+    public static int decode(CharSequence src, byte[] dst, int dstOff) {
+        int required = decodedLength(src);
+        int len = src.length();
+        checkRange(src, 0, len, dst, dstOff, required, dst == null ? 0 : dst.length);
+        int pos = dstOff;
+        int bits = 0;
+        int count = 0;
+        for (int i = 0, n = dataLength(len, required); i < n; i++) {
+            bits = bits << 6 | sextet(src.charAt(i));
+            if (++count == 4) {
+                dst[pos++] = (byte) (bits >> 16);
+                dst[pos++] = (byte) (bits >> 8);
+                dst[pos++] = (byte) bits;
+                bits = 0;
+                count = 0;
+            }
+        }
+        return pos - dstOff + tail(bits, count, dst, pos);
+    }
+
+    /**
+     * 将src的position到limit之间的Base64数据进行解码, 写入dst的position开始的位置, 返回写入的长度,
+     * 成功后src的position移动到limit, dst的position后移写入的长度, 失败时src和dst的position不变
+     */
+    public static int decode(ByteBuffer src, ByteBuffer dst) {
+        Objects.requireNonNull(src, "src must be not null");
+        Objects.requireNonNull(dst, "dst must be not null");
+        if (src.hasArray() && dst.hasArray()) {
+            int len = decodedLength(src.array(), src.arrayOffset() + src.position(), src.remaining());
+            if (dst.remaining() < len) {
+                throw new IllegalArgumentException("dst remaining: " + dst.remaining() + ", required: " + len);
+            }
+            decode(src.array(), src.arrayOffset() + src.position(), src.remaining(), dst.array(), dst.arrayOffset() + dst.position());
+            src.position(src.limit());
+            dst.position(dst.position() + len);
+            return len;
+        }
+        int len = src.remaining();
+        int limit = src.limit();
+        int pad = 0;
+        if (len > 0 && src.get(limit - 1) == PAD) {
+            pad++;
+            if (len > 1 && src.get(limit - 2) == PAD) {
+                pad++;
+            }
+        }
+        int required = decodedLength(len, pad);
+        if (dst.remaining() < required) {
+            throw new IllegalArgumentException("dst remaining: " + dst.remaining() + ", required: " + required);
+        }
+        int position = src.position();
+        int dstPosition = dst.position();
+        int bits = 0;
+        int count = 0;
+        try {
+            for (int i = 0, n = dataLength(len, required); i < n; i++) {
+                bits = bits << 6 | sextet(src.get(position + i));
+                if (++count == 4) {
+                    dst.put((byte) (bits >> 16));
+                    dst.put((byte) (bits >> 8));
+                    dst.put((byte) bits);
+                    bits = 0;
+                    count = 0;
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            // 与数组路径一致, 非法数据时不改变dst的position
+            dst.position(dstPosition);
+            throw e;
+        }
+        if (count == 2) {
+            dst.put((byte) (bits >> 4));
+        } else if (count == 3) {
+            dst.put((byte) (bits >> 10));
+            dst.put((byte) (bits >> 2));
+        }
+        src.position(limit);
+        return required;
+    }
+
+    /**
+     * 根据数据长度和填充字符数计算解码后的长度
+     */
+    private static int decodedLength(int len, int pad) {
+        if (pad > 0 && (len & 3) != 0) {
+            throw new IllegalArgumentException("Illegal base64 padding");
+        }
+        int n = len - pad;
+        if ((n & 3) == 1) {
+            throw new IllegalArgumentException("Illegal base64 length: " + len);
+        }
+        return n / 4 * 3 + ((n & 3) == 0 ? 0 : (n & 3) - 1);
+    }
+
+    /**
+     * 根据解码后的长度计算去除填充后的数据长度
+     */
+    private static int dataLength(int len, int decodedLength) {
+        int remain = decodedLength % 3;
+        return decodedLength / 3 * 4 + (remain == 0 ? 0 : remain + 1);
+    }
+
+    /**
+     * 写入不足4个字符的剩余数据, 返回写入的长度
+     */
+    private static int tail(int bits, int count, byte[] dst, int pos) {
+        if (count == 2) {
+            dst[pos] = (byte) (bits >> 4);
+            return 1;
+        }
+        if (count == 3) {
+            dst[pos] = (byte) (bits >> 10);
+            dst[pos + 1] = (byte) (bits >> 2);
+            return 2;
+        }
+        return 0;
+    }
+
+    /**
+     * 获取Base64字符对应的6位数值
+     */
+    private static int sextet(int c) {
+        int value = c >= 0 && c < DECODE_TABLE.length ? DECODE_TABLE[c] : -1;
+        if (value < 0) {
+            throw new IllegalArgumentException("Illegal base64 character " + Integer.toString(c, 16));
+        }
+        return value;
+    }
+
+    /**
+     * 校验源和目标范围
+     */
+    private static void checkRange(Object src, int off, int len, Object dst, int dstOff, int required, int dstLength) {
+        Objects.requireNonNull(src, "src must be not null");
+        Objects.requireNonNull(dst, "dst must be not null");
+        int srcLength = src instanceof byte[] ? ((byte[]) src).length : ((CharSequence) src).length();
+        if (off < 0 || len < 0 || srcLength - off < len) {
+            throw new IndexOutOfBoundsException("src length: " + srcLength + ", off: " + off + ", len: " + len);
+        }
+        if (dstOff < 0 || dstLength - dstOff < required) {
+            throw new IllegalArgumentException("dst length: " + dstLength + ", dstOff: " + dstOff + ", required: " + required);
+        }
+    }
+
     private static String encode(String value, Encoder encoder) {
         return encodeAsString(value.getBytes(CommonConstant.UTF8_CHARSET), encoder);
     }
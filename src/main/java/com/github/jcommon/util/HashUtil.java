@@ -0,0 +1,341 @@
+package com.github.jcommon.util;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Objects;
+
+/**
+ * 非加密哈希工具类, 基于MurmurHash3(x64 128位), 用于缓存键、分片键等场景, 不能用于安全校验
+ *
+ * @author shijian
+ * @email shijianws@163.com
+ * @date 2026-10-17
+ */
+public final class HashUtil {
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+    /**
+     * 分块大小
+     */
+    private static final int BLOCK_SIZE = 16;
+    /**
+     * 读取流时每个线程复用的缓冲区
+     */
+    private static final ThreadLocal<byte[]> BUFFER = ThreadLocal.withInitial(() -> new byte[IOUtil.BUFFER_SIZE]);
+
+    /**
+     * 增量哈希计算对象, 非线程安全
+     */
+    public static final class Hasher {
+        private long h1;
+        private long h2;
+        /**
+         * 已处理的总字节数
+         */
+        private long length;
+        /**
+         * 不足一个分块的剩余字节
+         */
+        private final byte[] tail = new byte[BLOCK_SIZE];
+        private int tailLength;
+
+        private Hasher(int seed) {
+            this.h1 = seed & 0xFFFFFFFFL;
+            this.h2 = seed & 0xFFFFFFFFL;
+        }
+
+        /**
+         * 添加单个字节
+         */
+        public Hasher update(byte b) {
+            tail[tailLength++] = b;
+            length++;
+            if (tailLength == BLOCK_SIZE) {
+                block(getLongLE(tail, 0), getLongLE(tail, 8));
+                tailLength = 0;
+            }
+            return this;
+        }
+
+        /**
+         * 添加字节数组
+         */
+        public Hasher update(byte[] bytes) {
+            Objects.requireNonNull(bytes, "bytes must be not null");
+            return update(bytes, 0, bytes.length);
+        }
+
+        /**
+         * 添加字节数组从off开始的len个字节
+         */
+        public Hasher update(byte[] bytes, int off, int len) {
+            Objects.requireNonNull(bytes, "bytes must be not null");
+            if (off < 0 || len < 0 || bytes.length - off < len) {
+                throw new IndexOutOfBoundsException("length: " + bytes.length + ", off: " + off + ", len: " + len);
+            }
+            int end = off + len;
+            // 补齐上次剩余的分块
+            while (tailLength > 0 && off < end) {
+                update(bytes[off++]);
+            }
+            length += end - off;
+            for (; end - off >= BLOCK_SIZE; off += BLOCK_SIZE) {
+                block(getLongLE(bytes, off), getLongLE(bytes, off + 8));
+            }
+            while (off < end) {
+                tail[tailLength++] = bytes[off++];
+            }
+            return this;
+        }
+
+        /**
+         * 添加缓冲区position到limit之间的数据, 不改变缓冲区的position
+         */
+        public Hasher update(ByteBuffer buffer) {
+            Objects.requireNonNull(buffer, "buffer must be not null");
+            if (buffer.hasArray()) {
+                return update(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            }
+            ByteBuffer buf = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+            while (tailLength > 0 && buf.hasRemaining()) {
+                update(buf.get());
+            }
+            length += buf.remaining();
+            while (buf.remaining() >= BLOCK_SIZE) {
+                block(buf.getLong(), buf.getLong());
+            }
+            while (buf.hasRemaining()) {
+                tail[tailLength++] = buf.get();
+            }
+            return this;
+        }
+
+        /**
+         * 添加字符序列, 每个字符按UTF-16LE两个字节处理, 不进行字符集编码
+         */
+        public Hasher update(CharSequence cs) {
+            Objects.requireNonNull(cs, "cs must be not null");
+            int off = 0;
+            int end = cs.length();
+            while (tailLength > 0 && off < end) {
+                update(cs.charAt(off++));
+            }
+            length += (long) (end - off) << 1;
+            for (; end - off >= 8; off += 8) {
+                long k1 = cs.charAt(off) | (long) cs.charAt(off + 1) << 16 | (long) cs.charAt(off + 2) << 32 | (long) cs.charAt(off + 3) << 48;
+                long k2 = cs.charAt(off + 4) | (long) cs.charAt(off + 5) << 16 | (long) cs.charAt(off + 6) << 32 | (long) cs.charAt(off + 7) << 48;
+                block(k1, k2);
+            }
+            for (; off < end; off++) {
+                char c = cs.charAt(off);
+                tail[tailLength++] = (byte) c;
+                tail[tailLength++] = (byte) (c >>> 8);
+            }
+            return this;
+        }
+
+        /**
+         * 添加单个字符, 按UTF-16LE两个字节处理
+         */
+        public Hasher update(char c) {
+            update((byte) c);
+            return update((byte) (c >>> 8));
+        }
+
+        /**
+         * 使用固定大小的缓冲区分段读取字节流, 不关闭字节流
+         */
+        public Hasher update(InputStream is) {
+            Objects.requireNonNull(is, "is must be not null");
+            byte[] buf = BUFFER.get();
+            try {
+                for (int len; (len = is.read(buf)) != -1; ) {
+                    update(buf, 0, len);
+                }
+            } catch (Exception e) {
+                throw new RuntimeException(e.getMessage(), e);
+            }
+            return this;
+        }
+
+        /**
+         * 获取64位哈希值, 即128位哈希值的低64位
+         */
+        public long hash64() {
+            return hash128()[0];
+        }
+
+        /**
+         * 获取128位哈希值, 不改变当前计算状态
+         */
+        public long[] hash128() {
+            long h1 = this.h1;
+            long h2 = this.h2;
+            long k1 = 0;
+            long k2 = 0;
+            for (int i = tailLength - 1; i >= 8; i--) {
+                k2 = k2 << 8 | tail[i] & 0xFF;
+            }
+            for (int i = Math.min(tailLength, 8) - 1; i >= 0; i--) {
+                k1 = k1 << 8 | tail[i] & 0xFF;
+            }
+            if (tailLength > 8) {
+                h2 ^= mixK2(k2);
+            }
+            if (tailLength > 0) {
+                h1 ^= mixK1(k1);
+            }
+
+            h1 ^= length;
+            h2 ^= length;
+            h1 += h2;
+            h2 += h1;
+            h1 = fmix64(h1);
+            h2 = fmix64(h2);
+            h1 += h2;
+            h2 += h1;
+            return new long[]{h1, h2};
+        }
+
+        /**
+         * 处理一个16字节分块
+         */
+        private void block(long k1, long k2) {
+            h1 ^= mixK1(k1);
+            h1 = Long.rotateLeft(h1, 27);
+            h1 += h2;
+            h1 = h1 * 5 + 0x52dce729;
+
+            h2 ^= mixK2(k2);
+            h2 = Long.rotateLeft(h2, 31);
+            h2 += h1;
+            h2 = h2 * 5 + 0x38495ab5;
+        }
+    }
+
+    /**
+     * 创建增量哈希计算对象
+     */
+    public static Hasher newHasher() {
+        return new Hasher(0);
+    }
+
+    /**
+     * 使用指定种子创建增量哈希计算对象
+     */
+    public static Hasher newHasher(int seed) {
+        return new Hasher(seed);
+    }
+
+    /**
+     * 计算字节数组的64位哈希值
+     */
+    public static long hash64(byte[] bytes) {
+        return newHasher().update(bytes).hash64();
+    }
+
+    /**
+     * 计算字节数组从off开始的len个字节的64位哈希值
+     */
+    public static long hash64(byte[] bytes, int off, int len) {
+        return newHasher().update(bytes, off, len).hash64();
+    }
+
+    /**
+     * 计算缓冲区剩余数据的64位哈希值, 不改变缓冲区的position
+     */
+    public static long hash64(ByteBuffer buffer) {
+        return newHasher().update(buffer).hash64();
+    }
+
+    /**
+     * 计算字符序列的64位哈希值, 字符按UTF-16LE处理
+     */
+    public static long hash64(CharSequence cs) {
+        return newHasher().update(cs).hash64();
+    }
+
+    /**
+     * 计算字节流的64位哈希值, 不关闭字节流
+     */
+    public static long hash64(InputStream is) {
+        return newHasher().update(is).hash64();
+    }
+
+    /**
+     * 计算字节数组的128位哈希值
+     */
+    public static long[] hash128(byte[] bytes) {
+        return newHasher().update(bytes).hash128();
+    }
+
+    /**
+     * 计算字节数组从off开始的len个字节的128位哈希值
+     */
+    public static long[] hash128(byte[] bytes, int off, int len) {
+        return newHasher().update(bytes, off, len).hash128();
+    }
+
+    /**
+     * 计算缓冲区剩余数据的128位哈希值, 不改变缓冲区的position
+     */
+    public static long[] hash128(ByteBuffer buffer) {
+        return newHasher().update(buffer).hash128();
+    }
+
+    /**
+     * 计算字符序列的128位哈希值, 字符按UTF-16LE处理
+     */
+    public static long[] hash128(CharSequence cs) {
+        return newHasher().update(cs).hash128();
+    }
+
+    /**
+     * 计算字节流的128位哈希值, 不关闭字节流
+     */
+    public static long[] hash128(InputStream is) {
+        return newHasher().update(is).hash128();
+    }
+
+    private static long mixK1(long k1) {
+        k1 *= C1;
+        k1 = Long.rotateLeft(k1, 31);
+        k1 *= C2;
+        return k1;
+    }
+
+    private static long mixK2(long k2) {
+        k2 *= C2;
+        k2 = Long.rotateLeft(k2, 33);
+        k2 *= C1;
+        return k2;
+    }
+
+    private static long fmix64(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+
+    /**
+     * 按小端序读取8个字节
+     */
+    private static long getLongLE(byte[] bytes, int off) {
+        return (bytes[off] & 0xFFL)
+                | (bytes[off + 1] & 0xFFL) << 8
+                | (bytes[off + 2] & 0xFFL) << 16
+                | (bytes[off + 3] & 0xFFL) << 24
+                | (bytes[off + 4] & 0xFFL) << 32
+                | (bytes[off + 5] & 0xFFL) << 40
+                | (bytes[off + 6] & 0xFFL) << 48
+                | (bytes[off + 7] & 0xFFL) << 56;
+    }
+
+    private HashUtil() throws IllegalAccessException {
+        throw new IllegalAccessException("不允许实例化");
+    }
+}
@@ -1,6 +1,8 @@
 package com.github.jcommon.util;
 
 import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 
@@ -49,6 +51,23 @@ public final class IOUtil {
 		return os;
 	}
 
+	/**
+	 * 包装输出字节流, 关闭时只刷新不关闭被包装的字节流, 用于需要关闭包装流但不能关闭调用方字节流的场景
+	 */
+	public static OutputStream nonClosing(OutputStream os) {
+		return new FilterOutputStream(os) {
+			@Override
+			public void write(byte[] b, int off, int len) throws IOException {
+				out.write(b, off, len);
+			}
+
+			@Override
+			public void close() throws IOException {
+				out.flush();
+			}
+		};
+	}
+
 	private IOUtil() throws IllegalAccessException {
 		throw new IllegalAccessException("不允许实例化");
 	}
@@ -3,9 +3,20 @@ package com.github.jcommon.util;
 import com.github.jcommon.constant.CommonConstant;
 import com.github.jcommon.util.cipher.EncryptionAlgorithm;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestException;
 import java.security.MessageDigest;
+import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * 消息摘要工具类
@@ -15,6 +26,31 @@ import java.util.concurrent.atomic.AtomicBoolean;
  * @date 2016-04-05
  */
 public final class MessageDigestUtil {
+    /**
+     * 文件每次映射到内存的最大字节数
+     */
+    private static final int MAPPED_SEGMENT_SIZE = 64 << 20;
+    /**
+     * 读取流时每个线程复用的缓冲区
+     */
+    private static final ThreadLocal<byte[]> BUFFER = ThreadLocal.withInitial(() -> new byte[IOUtil.BUFFER_SIZE]);
+    /**
+     * 树形摘要默认分段大小
+     */
+    public static final int DEFAULT_TREE_CHUNK_SIZE = 16 << 20;
+    /**
+     * 树形摘要叶子节点前缀
+     */
+    private static final byte TREE_LEAF_PREFIX = 0;
+    /**
+     * 树形摘要根节点前缀
+     */
+    private static final byte TREE_ROOT_PREFIX = 1;
+    /**
+     * 批量摘要并行计算时每个任务处理的数据条数
+     */
+    private static final int BATCH_TASK_SIZE = 1024;
+
     enum MessageDigestAlgorithm {
         /**
          * MD5加密摘要对象
@@ -29,12 +65,26 @@ public final class MessageDigestUtil {
          */
         SHA512("SHA-512");
 
-        private final MessageDigest messageDigest;
+        /**
+         * 摘要对象原型, 线程首次使用时克隆
+         */
+        private final MessageDigest prototype;
         private final String algorithmName;
-        private final AtomicBoolean mutx = new AtomicBoolean(false);
+        /**
+         * 每个线程持有一个摘要对象, 无需加锁
+         */
+        private final ThreadLocal<MessageDigest> local = new ThreadLocal<>();
+        /**
+         * 命中线程缓存次数
+         */
+        private final LongAdder hits = new LongAdder();
+        /**
+         * 未命中线程缓存(新建摘要对象)次数
+         */
+        private final LongAdder misses = new LongAdder();
 
         MessageDigestAlgorithm(String algorithmName) {
-            this.messageDigest = getInstance(algorithmName);
+            this.prototype = getInstance(algorithmName);
             this.algorithmName = algorithmName;
         }
 
@@ -46,25 +96,139 @@ public final class MessageDigestUtil {
             }
         }
 
+        /**
+         * 创建新的摘要对象, 优先克隆原型避免再次查找服务提供商
+         */
+        private MessageDigest newInstance() {
+            misses.increment();
+            try {
+                return (MessageDigest) this.prototype.clone();
+            } catch (CloneNotSupportedException e) {
+                return getInstance(this.algorithmName);
+            }
+        }
+
+        /**
+         * 获取当前线程的摘要对象, 使用前已重置
+         */
+        MessageDigest borrow() {
+            MessageDigest messageDigest = local.get();
+            if (messageDigest == null) {
+                messageDigest = newInstance();
+                local.set(messageDigest);
+            } else {
+                hits.increment();
+                messageDigest.reset();
+            }
+            return messageDigest;
+        }
+
+        /**
+         * 摘要字节长度
+         */
+        int getDigestLength() {
+            return this.prototype.getDigestLength();
+        }
+
+        /**
+         * 摘要加密, 将原始摘要写入目标数组off开始的位置
+         */
+        void digest(MessageDigest messageDigest, byte[] data, byte[] dest, int off) {
+            Objects.requireNonNull(data, "加密数据对象不能为null!");
+            messageDigest.update(data);
+            try {
+                messageDigest.digest(dest, off, dest.length - off);
+            } catch (DigestException e) {
+                throw new RuntimeException(e.getMessage(), e);
+            }
+        }
+
+        /**
+         * 命中线程缓存次数
+         */
+        long getHitCount() {
+            return hits.sum();
+        }
+
+        /**
+         * 未命中线程缓存次数
+         */
+        long getMissCount() {
+            return misses.sum();
+        }
+
         /**
          * 摘要加密
          */
         public String digest(byte[] data) {
             Objects.requireNonNull(data, "加密数据对象不能为null!");
-            if (mutx.compareAndSet(false, true)) {
-                // 加锁
-                try {
-                    return StringUtil.toHex(this.messageDigest.digest(data));
-                } finally {
-                    this.messageDigest.reset();
-                    mutx.set(false);
+            return StringUtil.toHex(borrow().digest(data));
+        }
+
+        /**
+         * 摘要加密, 使用固定大小的缓冲区分段读取字节流, 不关闭字节流
+         */
+        public String digest(InputStream is) {
+            Objects.requireNonNull(is, "加密数据流不能为null!");
+            MessageDigest messageDigest = borrow();
+            byte[] buf = BUFFER.get();
+            try {
+                for (int len; (len = is.read(buf)) != -1; ) {
+                    messageDigest.update(buf, 0, len);
                 }
+            } catch (Exception e) {
+                throw new RuntimeException(e.getMessage(), e);
             }
-            return StringUtil.toHex(getInstance(this.algorithmName).digest(data));
+            return StringUtil.toHex(messageDigest.digest());
         }
 
         /**
-         * 摘要加密
+         * 摘要加密, 文件分段映射到内存后处理
+         */
+        public String digest(Path path) {
+            Objects.requireNonNull(path, "加密文件路径不能为null!");
+            MessageDigest messageDigest = borrow();
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                long size = channel.size();
+                for (long position = 0; position < size; ) {
+                    long len = Math.min(MAPPED_SEGMENT_SIZE, size - position);
+                    messageDigest.update(channel.map(MapMode.READ_ONLY, position, len));
+                    position += len;
+                }
+            } catch (Exception e) {
+                throw new RuntimeException(e.getMessage(), e);
+            }
+            return StringUtil.toHex(messageDigest.digest());
+        }
+
+        /**
+         * 摘要加密, 处理缓冲区position到limit之间的数据, 不改变缓冲区的position
+         */
+        public String digest(ByteBuffer buffer) {
+            Objects.requireNonNull(buffer, "加密数据缓冲区不能为null!");
+            MessageDigest messageDigest = borrow();
+            messageDigest.update(buffer.duplicate());
+            return StringUtil.toHex(messageDigest.digest());
+        }
+
+        /**
+         * 加盐摘要加密, 盐值与数据直接写入摘要对象, 不生成中间字符串
+         *
+         * @param data
+         * @param salt 加盐值
+         * @return
+         */
+        public String digest(byte[] data, byte[] salt) {
+            Objects.requireNonNull(data, "加密数据对象不能为null!");
+            Objects.requireNonNull(salt, "加盐数据对象不能为null!");
+            MessageDigest messageDigest = borrow();
+            messageDigest.update(salt);
+            messageDigest.update(data);
+            return StringUtil.toHex(messageDigest.digest());
+        }
+
+        /**
+         * 旧版加盐摘要加密, 兼容已存储的摘要: 每个字节的十进制文本后追加盐值哈希码对应位置的16进制字符, 再进行摘要
          *
          * @param data
          * @param slat 加盐值
@@ -74,12 +238,394 @@ public final class MessageDigestUtil {
             Objects.requireNonNull(data, "加密数据对象不能为null!");
             Objects.requireNonNull(slat, "加盐数据对象不能为null!");
             int hashCode = slat.hashCode();
-            StringBuilder buf = new StringBuilder(data.length << 1);
+            MessageDigest messageDigest = borrow();
+            byte[] buf = BUFFER.get();
+            int pos = 0;
             for (int x = 0, y = data.length; x < y; x++) {
+                if (pos > buf.length - 5) {
+                    messageDigest.update(buf, 0, pos);
+                    pos = 0;
+                }
+                // 字节的十进制文本, 均为ASCII字符
+                int value = data[x];
+                if (value < 0) {
+                    buf[pos++] = '-';
+                    value = -value;
+                }
+                if (value >= 100) {
+                    buf[pos++] = (byte) ('0' + value / 100);
+                }
+                if (value >= 10) {
+                    buf[pos++] = (byte) ('0' + value / 10 % 10);
+                }
+                buf[pos++] = (byte) ('0' + value % 10);
                 // 加盐
-                buf.append(data[x]).append(Integer.toHexString(hashCode >>> x & 0xF));
+                buf[pos++] = (byte) Character.forDigit(hashCode >>> x & 0xF, 16);
+            }
+            messageDigest.update(buf, 0, pos);
+            return StringUtil.toHex(messageDigest.digest());
+        }
+    }
+
+    /**
+     * 树形摘要结果, 文件按固定大小分段, 每段摘要作为叶子节点, 所有叶子节点摘要合并为根节点摘要
+     */
+    public static final class TreeDigest {
+        /**
+         * verify返回值, 表示文件长度与摘要记录的长度不一致, 无法按分段校验
+         */
+        public static final int LENGTH_MISMATCH = -2;
+        private final MessageDigestAlgorithm algorithm;
+        private final int chunkSize;
+        private final long length;
+        private final byte[][] leaves;
+        private final byte[] root;
+
+        private TreeDigest(MessageDigestAlgorithm algorithm, int chunkSize, long length, byte[][] leaves) {
+            this.algorithm = algorithm;
+            this.chunkSize = chunkSize;
+            this.length = length;
+            this.leaves = leaves;
+            this.root = root(algorithm, chunkSize, length, leaves);
+        }
+
+        /**
+         * 分段大小
+         */
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        /**
+         * 文件长度
+         */
+        public long getLength() {
+            return length;
+        }
+
+        /**
+         * 分段数量
+         */
+        public int getChunkCount() {
+            return leaves.length;
+        }
+
+        /**
+         * 获取分段摘要
+         */
+        public String getLeaf(int index) {
+            return StringUtil.toHex(leaves[index]);
+        }
+
+        /**
+         * 获取根摘要
+         */
+        public String getRoot() {
+            return StringUtil.toHex(root);
+        }
+
+        /**
+         * 校验指定分段
+         */
+        public boolean verifyChunk(Path path, int index) {
+            Objects.requireNonNull(path, "校验文件路径不能为null!");
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                if (channel.size() != length) {
+                    return false;
+                }
+                return MessageDigest.isEqual(leaves[index], leaf(algorithm, channel, index, chunkSize, length));
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new RuntimeException(e.getMessage(), e);
+            }
+        }
+
+        /**
+         * 从指定分段开始顺序校验, 中断后可从返回值继续校验
+         *
+         * @param path      文件
+         * @param fromChunk 起始分段索引, 0到分段数量
+         * @return 第一个校验失败的分段索引; 全部通过返回分段数量; 文件长度不一致返回LENGTH_MISMATCH
+         */
+        public int verify(Path path, int fromChunk) {
+            Objects.requireNonNull(path, "校验文件路径不能为null!");
+            if (fromChunk < 0 || fromChunk > leaves.length) {
+                throw new IllegalArgumentException("起始分段索引必须在0到" + leaves.length + "之间!");
+            }
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                if (channel.size() != length) {
+                    return LENGTH_MISMATCH;
+                }
+                for (int index = fromChunk; index < leaves.length; index++) {
+                    if (!MessageDigest.isEqual(leaves[index], leaf(algorithm, channel, index, chunkSize, length))) {
+                        return index;
+                    }
+                }
+                return leaves.length;
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new RuntimeException(e.getMessage(), e);
+            }
+        }
+
+        /**
+         * 格式: 算法名称:分段大小:根摘要
+         */
+        @Override
+        public String toString() {
+            return algorithm.algorithmName + CommonConstant.COLON + chunkSize + CommonConstant.COLON + getRoot();
+        }
+
+        /**
+         * 序列化为可持久化的字符串, 可通过parse重建后继续校验
+         * 格式: 算法名称:分段大小:文件长度:根摘要:叶子摘要1,叶子摘要2,...
+         */
+        public String serialize() {
+            int digestLength = root.length << 1;
+            StringBuilder sb = new StringBuilder(64 + (digestLength + 1) * (leaves.length + 1));
+            sb.append(algorithm.algorithmName).append(CommonConstant.COLON).append(chunkSize)
+                    .append(CommonConstant.COLON).append(length).append(CommonConstant.COLON).append(getRoot())
+                    .append(CommonConstant.COLON);
+            for (int i = 0; i < leaves.length; i++) {
+                if (i > 0) {
+                    sb.append(CommonConstant.COMMA);
+                }
+                sb.append(StringUtil.toHex(leaves[i]));
+            }
+            return sb.toString();
+        }
+
+        /**
+         * 解析serialize生成的字符串, 重新计算根摘要并与记录的根摘要比对
+         *
+         * @param text serialize生成的字符串
+         * @return 树形摘要
+         */
+        public static TreeDigest parse(String text) {
+            Objects.requireNonNull(text, "树形摘要字符串不能为null!");
+            String[] fields = text.split(String.valueOf(CommonConstant.COLON), 5);
+            if (fields.length != 5) {
+                throw new IllegalArgumentException("树形摘要字符串格式错误!");
+            }
+            String[] leaves = fields[4].isEmpty() ? new String[0] : fields[4].split(String.valueOf(CommonConstant.COMMA), -1);
+            try {
+                return of(fields[0], Integer.parseInt(fields[1]), Long.parseLong(fields[2]), leaves, fields[3]);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("树形摘要字符串格式错误!", e);
+            }
+        }
+
+        /**
+         * 使用已持久化的分段摘要重建树形摘要, 重新计算根摘要并与记录的根摘要比对
+         *
+         * @param algorithmName 摘要算法名称, 如SHA-512
+         * @param chunkSize     分段大小
+         * @param length        文件长度
+         * @param leaves        16进制分段摘要
+         * @param root          16进制根摘要
+         * @return 树形摘要
+         */
+        public static TreeDigest of(String algorithmName, int chunkSize, long length, String[] leaves, String root) {
+            Objects.requireNonNull(algorithmName, "摘要算法名称不能为null!");
+            Objects.requireNonNull(leaves, "分段摘要不能为null!");
+            Objects.requireNonNull(root, "根摘要不能为null!");
+            MessageDigestAlgorithm algorithm = null;
+            for (MessageDigestAlgorithm value : MessageDigestAlgorithm.values()) {
+                if (value.algorithmName.equalsIgnoreCase(algorithmName)) {
+                    algorithm = value;
+                    break;
+                }
+            }
+            if (algorithm == null) {
+                throw new IllegalArgumentException("不支持的摘要算法: " + algorithmName);
+            }
+            if (chunkSize <= 0) {
+                throw new IllegalArgumentException("分段大小必须大于0!");
+            }
+            if (length < 0) {
+                throw new IllegalArgumentException("文件长度不能小于0!");
+            }
+            if ((length + chunkSize - 1) / chunkSize != leaves.length) {
+                throw new IllegalArgumentException("分段摘要数量与文件长度不一致!");
+            }
+            int digestLength = algorithm.prototype.getDigestLength();
+            byte[][] bytes = new byte[leaves.length][];
+            for (int i = 0; i < leaves.length; i++) {
+                bytes[i] = StringUtil.fromHex(leaves[i]);
+                if (bytes[i].length != digestLength) {
+                    throw new IllegalArgumentException("分段摘要长度错误: " + i);
+                }
+            }
+            TreeDigest treeDigest = new TreeDigest(algorithm, chunkSize, length, bytes);
+            if (!MessageDigest.isEqual(treeDigest.root, StringUtil.fromHex(root))) {
+                throw new IllegalArgumentException("根摘要校验失败!");
+            }
+            return treeDigest;
+        }
+    }
+
+    /**
+     * 计算一个分段的叶子节点摘要
+     */
+    private static byte[] leaf(MessageDigestAlgorithm algorithm, FileChannel channel, int index, int chunkSize, long length) throws IOException {
+        long position = (long) index * chunkSize;
+        long len = Math.min(chunkSize, length - position);
+        MessageDigest messageDigest = algorithm.borrow();
+        messageDigest.update(TREE_LEAF_PREFIX);
+        messageDigest.update(channel.map(MapMode.READ_ONLY, position, len));
+        return messageDigest.digest();
+    }
+
+    /**
+     * 合并叶子节点摘要为根节点摘要, 分段大小和文件长度参与计算
+     */
+    private static byte[] root(MessageDigestAlgorithm algorithm, int chunkSize, long length, byte[][] leaves) {
+        MessageDigest messageDigest = algorithm.borrow();
+        messageDigest.update(TREE_ROOT_PREFIX);
+        messageDigest.update(ByteBuffer.allocate(12).putInt(chunkSize).putLong(length).array());
+        for (byte[] leaf : leaves) {
+            messageDigest.update(leaf);
+        }
+        return messageDigest.digest();
+    }
+
+    /**
+     * 并行计算叶子节点摘要, 按分段索引二分拆分任务
+     */
+    private static final class LeafTask extends RecursiveAction {
+        private static final long serialVersionUID = -4150343467302460744L;
+        private final MessageDigestAlgorithm algorithm;
+        private final FileChannel channel;
+        private final int chunkSize;
+        private final long length;
+        private final byte[][] leaves;
+        private final int from;
+        private final int to;
+
+        LeafTask(MessageDigestAlgorithm algorithm, FileChannel channel, int chunkSize, long length, byte[][] leaves, int from, int to) {
+            this.algorithm = algorithm;
+            this.channel = channel;
+            this.chunkSize = chunkSize;
+            this.length = length;
+            this.leaves = leaves;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                try {
+                    leaves[from] = leaf(algorithm, channel, from, chunkSize, length);
+                } catch (Exception e) {
+                    throw new RuntimeException(e.getMessage(), e);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new LeafTask(algorithm, channel, chunkSize, length, leaves, from, mid),
+                    new LeafTask(algorithm, channel, chunkSize, length, leaves, mid, to));
+        }
+    }
+
+    /**
+     * 并行计算批量摘要, 每个任务只获取一次摘要对象
+     */
+    private static final class BatchTask extends RecursiveAction {
+        private static final long serialVersionUID = 2712079416957434162L;
+        private final MessageDigestAlgorithm algorithm;
+        private final List<byte[]> payloads;
+        private final byte[] result;
+        private final int from;
+        private final int to;
+
+        BatchTask(MessageDigestAlgorithm algorithm, List<byte[]> payloads, byte[] result, int from, int to) {
+            this.algorithm = algorithm;
+            this.payloads = payloads;
+            this.result = result;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= BATCH_TASK_SIZE) {
+                batchDigest(algorithm, payloads, result, from, to);
+                return;
             }
-            return this.digest(buf.toString().getBytes(CommonConstant.UTF8_CHARSET));
+            int mid = (from + to) >>> 1;
+            invokeAll(new BatchTask(algorithm, payloads, result, from, mid),
+                    new BatchTask(algorithm, payloads, result, mid, to));
+        }
+    }
+
+    /**
+     * 计算[from, to)范围内数据的摘要, 按顺序写入结果数组
+     */
+    private static void batchDigest(MessageDigestAlgorithm algorithm, List<byte[]> payloads, byte[] result, int from, int to) {
+        MessageDigest messageDigest = algorithm.borrow();
+        int digestLength = algorithm.getDigestLength();
+        for (int index = from; index < to; index++) {
+            algorithm.digest(messageDigest, payloads.get(index), result, index * digestLength);
+        }
+    }
+
+    /**
+     * 批量摘要
+     *
+     * @param algorithm 摘要算法对象
+     * @param payloads  加密数据集合, 建议使用支持随机访问的集合
+     * @param parallel  是否在ForkJoinPool.commonPool()中并行计算
+     * @return 所有原始摘要按顺序连续存放的数组, 第i条数据的摘要位于[i * 摘要长度, (i + 1) * 摘要长度)
+     */
+    private static byte[] batchDigest(MessageDigestAlgorithm algorithm, List<byte[]> payloads, boolean parallel) {
+        Objects.requireNonNull(payloads, "加密数据集合不能为null!");
+        int size = payloads.size();
+        int digestLength = algorithm.getDigestLength();
+        if ((long) size * digestLength > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("加密数据条数过多!");
+        }
+        byte[] result = new byte[size * digestLength];
+        if (parallel && size > BATCH_TASK_SIZE) {
+            ForkJoinPool.commonPool().invoke(new BatchTask(algorithm, payloads, result, 0, size));
+        } else {
+            batchDigest(algorithm, payloads, result, 0, size);
+        }
+        return result;
+    }
+
+    /**
+     * 树形摘要
+     *
+     * @param algorithm 摘要算法对象
+     * @param path      文件路径
+     * @param chunkSize 分段大小
+     * @param pool      计算叶子节点的线程池
+     * @return
+     */
+    private static TreeDigest treeDigest(MessageDigestAlgorithm algorithm, Path path, int chunkSize, ForkJoinPool pool) {
+        Objects.requireNonNull(path, "加密文件路径不能为null!");
+        Objects.requireNonNull(pool, "线程池不能为null!");
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("分段大小必须大于0!");
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long length = channel.size();
+            long count = (length + chunkSize - 1) / chunkSize;
+            if (count > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("分段数量过多, 请增大分段大小!");
+            }
+            byte[][] leaves = new byte[(int) count][];
+            if (count > 0) {
+                pool.invoke(new LeafTask(algorithm, channel, chunkSize, length, leaves, 0, leaves.length));
+            }
+            return new TreeDigest(algorithm, chunkSize, length, leaves);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException(e.getMessage(), e);
         }
     }
 
@@ -145,6 +691,27 @@ public final class MessageDigestUtil {
         return message;
     }
 
+    /**
+     * 将字节流进行MD5加密，并返回小写的加密32位字符串, 不关闭字节流
+     */
+    public static String md5(InputStream is) {
+        return MessageDigestAlgorithm.MD5.digest(is);
+    }
+
+    /**
+     * 将文件内容进行MD5加密，并返回小写的加密32位字符串
+     */
+    public static String md5(Path path) {
+        return MessageDigestAlgorithm.MD5.digest(path);
+    }
+
+    /**
+     * 将缓冲区剩余数据进行MD5加密，并返回小写的加密32位字符串
+     */
+    public static String md5(ByteBuffer buffer) {
+        return MessageDigestAlgorithm.MD5.digest(buffer);
+    }
+
     /**
      * 将一个字符数组进行SHA1加密，并返回小写的加密40位字符串
      */
@@ -159,6 +726,27 @@ public final class MessageDigestUtil {
         return md(MessageDigestAlgorithm.SHA1, data);
     }
 
+    /**
+     * 将字节流进行SHA1加密，并返回小写的加密40位字符串, 不关闭字节流
+     */
+    public static String sha1(InputStream is) {
+        return MessageDigestAlgorithm.SHA1.digest(is);
+    }
+
+    /**
+     * 将文件内容进行SHA1加密，并返回小写的加密40位字符串
+     */
+    public static String sha1(Path path) {
+        return MessageDigestAlgorithm.SHA1.digest(path);
+    }
+
+    /**
+     * 将缓冲区剩余数据进行SHA1加密，并返回小写的加密40位字符串
+     */
+    public static String sha1(ByteBuffer buffer) {
+        return MessageDigestAlgorithm.SHA1.digest(buffer);
+    }
+
     /**
      * 将一个字符数组进行SHA512加密，并返回小写的加密128位字符串
      */
@@ -173,6 +761,184 @@ public final class MessageDigestUtil {
         return md(MessageDigestAlgorithm.SHA512, data);
     }
 
+    /**
+     * 将字节流进行SHA512加密，并返回小写的加密128位字符串, 不关闭字节流
+     */
+    public static String sha512(InputStream is) {
+        return MessageDigestAlgorithm.SHA512.digest(is);
+    }
+
+    /**
+     * 将文件内容进行SHA512加密，并返回小写的加密128位字符串
+     */
+    public static String sha512(Path path) {
+        return MessageDigestAlgorithm.SHA512.digest(path);
+    }
+
+    /**
+     * 将缓冲区剩余数据进行SHA512加密，并返回小写的加密128位字符串
+     */
+    public static String sha512(ByteBuffer buffer) {
+        return MessageDigestAlgorithm.SHA512.digest(buffer);
+    }
+
+    /**
+     * 将盐值与数据进行MD5加密，并返回小写的加密32位字符串
+     */
+    public static String md5(byte[] data, String salt) {
+        return md5(data, salt, false);
+    }
+
+    /**
+     * 将盐值与数据进行MD5加密，并返回小写的加密32位字符串
+     *
+     * @param data   加密数据
+     * @param salt   加盐值
+     * @param legacy 是否使用旧版加盐方式, 用于校验旧版加盐方式存储的摘要
+     * @return
+     */
+    public static String md5(byte[] data, String salt, boolean legacy) {
+        Objects.requireNonNull(salt, "加盐数据不能为null!");
+        MessageDigestAlgorithm algorithm = MessageDigestAlgorithm.MD5;
+        if (legacy) {
+            return algorithm.digest(data, salt);
+        }
+        return algorithm.digest(data, salt.getBytes(CommonConstant.UTF8_CHARSET));
+    }
+
+    /**
+     * 批量MD5加密, 返回所有原始摘要按顺序连续存放的数组, 每条摘要16字节
+     */
+    public static byte[] md5Batch(List<byte[]> payloads) {
+        return md5Batch(payloads, false);
+    }
+
+    /**
+     * 批量MD5加密, 返回所有原始摘要按顺序连续存放的数组, 每条摘要16字节, 可选择并行计算
+     */
+    public static byte[] md5Batch(List<byte[]> payloads, boolean parallel) {
+        return batchDigest(MessageDigestAlgorithm.MD5, payloads, parallel);
+    }
+
+    /**
+     * 将盐值与数据进行SHA1加密，并返回小写的加密40位字符串
+     */
+    public static String sha1(byte[] data, String salt) {
+        return sha1(data, salt, false);
+    }
+
+    /**
+     * 将盐值与数据进行SHA1加密，并返回小写的加密40位字符串
+     *
+     * @param data   加密数据
+     * @param salt   加盐值
+     * @param legacy 是否使用旧版加盐方式, 用于校验旧版加盐方式存储的摘要
+     * @return
+     */
+    public static String sha1(byte[] data, String salt, boolean legacy) {
+        Objects.requireNonNull(salt, "加盐数据不能为null!");
+        MessageDigestAlgorithm algorithm = MessageDigestAlgorithm.SHA1;
+        if (legacy) {
+            return algorithm.digest(data, salt);
+        }
+        return algorithm.digest(data, salt.getBytes(CommonConstant.UTF8_CHARSET));
+    }
+
+    /**
+     * 批量SHA1加密, 返回所有原始摘要按顺序连续存放的数组, 每条摘要20字节
+     */
+    public static byte[] sha1Batch(List<byte[]> payloads) {
+        return sha1Batch(payloads, false);
+    }
+
+    /**
+     * 批量SHA1加密, 返回所有原始摘要按顺序连续存放的数组, 每条摘要20字节, 可选择并行计算
+     */
+    public static byte[] sha1Batch(List<byte[]> payloads, boolean parallel) {
+        return batchDigest(MessageDigestAlgorithm.SHA1, payloads, parallel);
+    }
+
+    /**
+     * 将盐值与数据进行SHA512加密，并返回小写的加密128位字符串
+     */
+    public static String sha512(byte[] data, String salt) {
+        return sha512(data, salt, false);
+    }
+
+    /**
+     * 将盐值与数据进行SHA512加密，并返回小写的加密128位字符串
+     *
+     * @param data   加密数据
+     * @param salt   加盐值
+     * @param legacy 是否使用旧版加盐方式, 用于校验旧版加盐方式存储的摘要
+     * @return
+     */
+    public static String sha512(byte[] data, String salt, boolean legacy) {
+        Objects.requireNonNull(salt, "加盐数据不能为null!");
+        MessageDigestAlgorithm algorithm = MessageDigestAlgorithm.SHA512;
+        if (legacy) {
+            return algorithm.digest(data, salt);
+        }
+        return algorithm.digest(data, salt.getBytes(CommonConstant.UTF8_CHARSET));
+    }
+
+    /**
+     * 批量SHA512加密, 返回所有原始摘要按顺序连续存放的数组, 每条摘要64字节
+     */
+    public static byte[] sha512Batch(List<byte[]> payloads) {
+        return sha512Batch(payloads, false);
+    }
+
+    /**
+     * 批量SHA512加密, 返回所有原始摘要按顺序连续存放的数组, 每条摘要64字节, 可选择并行计算
+     */
+    public static byte[] sha512Batch(List<byte[]> payloads, boolean parallel) {
+        return batchDigest(MessageDigestAlgorithm.SHA512, payloads, parallel);
+    }
+
+    /**
+     * 将文件按默认分段大小并行进行SHA512树形摘要
+     */
+    public static TreeDigest sha512Tree(Path path) {
+        return sha512Tree(path, DEFAULT_TREE_CHUNK_SIZE);
+    }
+
+    /**
+     * 将文件按指定分段大小并行进行SHA512树形摘要
+     */
+    public static TreeDigest sha512Tree(Path path, int chunkSize) {
+        return sha512Tree(path, chunkSize, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 将文件按指定分段大小在指定线程池中并行进行SHA512树形摘要
+     */
+    public static TreeDigest sha512Tree(Path path, int chunkSize, ForkJoinPool pool) {
+        return treeDigest(MessageDigestAlgorithm.SHA512, path, chunkSize, pool);
+    }
+
+    /**
+     * 摘要对象线程缓存命中次数
+     */
+    public static long getPoolHitCount() {
+        long count = 0;
+        for (MessageDigestAlgorithm algorithm : MessageDigestAlgorithm.values()) {
+            count += algorithm.getHitCount();
+        }
+        return count;
+    }
+
+    /**
+     * 摘要对象线程缓存未命中(新建摘要对象)次数
+     */
+    public static long getPoolMissCount() {
+        long count = 0;
+        for (MessageDigestAlgorithm algorithm : MessageDigestAlgorithm.values()) {
+            count += algorithm.getMissCount();
+        }
+        return count;
+    }
+
     private MessageDigestUtil() throws IllegalAccessException {
         throw new IllegalAccessException("不允许实例化");
     }
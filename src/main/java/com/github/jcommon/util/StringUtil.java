@@ -2,6 +2,8 @@ package com.github.jcommon.util;
 
 import com.github.jcommon.constant.CommonConstant;
 
+import java.util.Arrays;
+import java.util.Objects;
 import java.util.function.IntPredicate;
 
 /**
@@ -18,6 +20,25 @@ public final class StringUtil {
     private static final String LIMIT = "{}";
     private static final IntPredicate IS_WHITE_SPACE = Character::isWhitespace;
     private static final IntPredicate IS_NOT_WHITE_SPACE = IS_WHITE_SPACE.negate();
+    /**
+     * 16进制小写字符表
+     */
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    /**
+     * 16进制字符对应的数值, 非16进制字符为-1
+     */
+    private static final byte[] HEX_VALUES = new byte[128];
+
+    static {
+        Arrays.fill(HEX_VALUES, (byte) -1);
+        for (int i = 0; i < 10; i++) {
+            HEX_VALUES['0' + i] = (byte) i;
+        }
+        for (int i = 0; i < 6; i++) {
+            HEX_VALUES['a' + i] = (byte) (10 + i);
+            HEX_VALUES['A' + i] = (byte) (10 + i);
+        }
+    }
 
     /**
      * 判断字符串为null或空串或全部空白字符
@@ -79,12 +100,83 @@ public final class StringUtil {
             return CommonConstant.STRING_EMPTY;
         }
 
-        StringBuilder buf = new StringBuilder();
+        char[] buf = new char[bytes.length << 1];
+        toHex(bytes, buf, 0);
+        return new String(buf);
+    }
+
+    /**
+     * 将数组转换为16进制小写字符写入目标数组off开始的位置, 返回写入的字符数
+     */
+    public static int toHex(byte[] bytes, char[] dest, int off) {
+        Objects.requireNonNull(bytes, "bytes must be not null");
+        Objects.requireNonNull(dest, "dest must be not null");
+        if (off < 0 || dest.length - off < bytes.length << 1) {
+            throw new IndexOutOfBoundsException("dest length: " + dest.length + ", off: " + off + ", required: " + (bytes.length << 1));
+        }
         for (byte b : bytes) {
-            buf.append(Integer.toHexString(b >>> 4 & 0xF)).append(Integer.toHexString(b & 0xF));
+            dest[off++] = HEX_DIGITS[b >>> 4 & 0xF];
+            dest[off++] = HEX_DIGITS[b & 0xF];
         }
+        return bytes.length << 1;
+    }
 
-        return buf.toString().toLowerCase();
+    /**
+     * 将数组转换为16进制小写ASCII字节写入目标数组off开始的位置, 返回写入的字节数
+     */
+    public static int toHex(byte[] bytes, byte[] dest, int off) {
+        Objects.requireNonNull(bytes, "bytes must be not null");
+        Objects.requireNonNull(dest, "dest must be not null");
+        if (off < 0 || dest.length - off < bytes.length << 1) {
+            throw new IndexOutOfBoundsException("dest length: " + dest.length + ", off: " + off + ", required: " + (bytes.length << 1));
+        }
+        for (byte b : bytes) {
+            dest[off++] = (byte) HEX_DIGITS[b >>> 4 & 0xF];
+            dest[off++] = (byte) HEX_DIGITS[b & 0xF];
+        }
+        return bytes.length << 1;
+    }
+
+    /**
+     * 将16进制字符串(不区分大小写)转换为数组, 如果参数为null或空串则返回空数组
+     */
+    public static byte[] fromHex(CharSequence hex) {
+        if (hex == null || hex.length() == 0) {
+            return IOUtil.EMPTY_BYTE_ARRAY;
+        }
+        byte[] buf = new byte[hex.length() >> 1];
+        fromHex(hex, buf, 0);
+        return buf;
+    }
+
+    /**
+     * 将16进制字符串(不区分大小写)转换后写入目标数组off开始的位置, 返回写入的字节数
+     */
+    public static int fromHex(CharSequence hex, byte[] dest, int off) {
+        Objects.requireNonNull(hex, "hex must be not null");
+        Objects.requireNonNull(dest, "dest must be not null");
+        int len = hex.length();
+        if ((len & 1) != 0) {
+            throw new IllegalArgumentException("hex length must be even: " + len);
+        }
+        if (off < 0 || dest.length - off < len >> 1) {
+            throw new IndexOutOfBoundsException("dest length: " + dest.length + ", off: " + off + ", required: " + (len >> 1));
+        }
+        for (int i = 0; i < len; i += 2) {
+            dest[off++] = (byte) (hexValue(hex.charAt(i)) << 4 | hexValue(hex.charAt(i + 1)));
+        }
+        return len >> 1;
+    }
+
+    /**
+     * 获取16进制字符对应的数值
+     */
+    private static int hexValue(char c) {
+        int value = c < HEX_VALUES.length ? HEX_VALUES[c] : -1;
+        if (value < 0) {
+            throw new IllegalArgumentException("invalid hex character: " + c);
+        }
+        return value;
     }
 
     private StringUtil() throws IllegalAccessException {
@@ -1,12 +1,57 @@
 package com.github.jcommon.util;
 
+import com.github.jcommon.tuple.ImmutablePair;
+import com.github.jcommon.tuple.Pair;
+
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.IntStream;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
 import java.util.zip.Deflater;
 import java.util.zip.Inflater;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
 import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
 
@@ -18,31 +63,159 @@ import java.util.zip.ZipOutputStream;
  * @date 2016-07-01
  */
 public final class ZipUtil {
+    /**
+     * 每个压缩级别池中保留的最大压缩对象数
+     */
+    private static final int POOL_SIZE = Runtime.getRuntime().availableProcessors() << 1;
+    /**
+     * 压缩对象池, 下标为压缩级别+1, 对应Deflater.DEFAULT_COMPRESSION(-1)到Deflater.BEST_COMPRESSION(9)
+     */
+    private static final BlockingQueue<Deflater>[] DEFLATER_POOLS = newPools(Deflater.BEST_COMPRESSION + 2);
+    /**
+     * 解压对象池
+     */
+    private static final BlockingQueue<Inflater> INFLATER_POOL = new ArrayBlockingQueue<>(POOL_SIZE);
+    /**
+     * 无zlib头部的解压对象池, 用于读取zip条目
+     */
+    private static final BlockingQueue<Inflater> RAW_INFLATER_POOL = new ArrayBlockingQueue<>(POOL_SIZE);
+    /**
+     * 最小缓冲区大小
+     */
+    private static final int MIN_BUFFER_SIZE = 64;
+    /**
+     * 数组最大长度, 部分虚拟机会在数组中保留头部字
+     */
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+    /**
+     * 解压时预估缓冲区的上限, 超过后按需扩容, 避免大数据预先分配4倍内存
+     */
+    private static final int MAX_INITIAL_BUFFER_SIZE = 64 << 20;
+    /**
+     * 并行压缩默认分块大小
+     */
+    public static final int DEFAULT_PARALLEL_BLOCK_SIZE = 128 << 10;
+    /**
+     * 并行压缩时作为预设字典的上一分块尾部长度, 即deflate最大回溯距离
+     */
+    private static final int DICTIONARY_SIZE = 32 << 10;
+    /**
+     * Adler-32模数
+     */
+    private static final int ADLER_BASE = 65521;
+    /**
+     * 已注册的预设字典, 键为字典的Adler-32校验值, 即zlib头部中的字典ID
+     */
+    private static final Map<Integer, byte[]> DICTIONARIES = new ConcurrentHashMap<>();
+    /**
+     * 训练字典时统计的片段长度
+     */
+    private static final int DICTIONARY_GRAM_SIZE = 8;
+    /**
+     * 训练字典时选取的样本段长度
+     */
+    private static final int DICTIONARY_SEGMENT_SIZE = 64;
+    /**
+     * 已压缩格式的扩展名, 写入zip时使用STORED方式避免重复压缩
+     */
+    private static final Set<String> COMPRESSED_EXTENSIONS = new HashSet<>(Arrays.asList(
+            "zip", "jar", "war", "ear", "apk", "gz", "tgz", "bz2", "xz", "lz4", "zst", "br", "7z", "rar",
+            "png", "jpg", "jpeg", "gif", "webp", "mp3", "aac", "ogg", "mp4", "m4a", "mov", "avi", "mkv", "webm",
+            "docx", "xlsx", "pptx", "woff", "woff2"));
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> BlockingQueue<T>[] newPools(int size) {
+        BlockingQueue<T>[] pools = new BlockingQueue[size];
+        for (int i = 0; i < size; i++) {
+            pools[i] = new ArrayBlockingQueue<>(POOL_SIZE);
+        }
+        return pools;
+    }
+
+    /**
+     * 从池中获取压缩对象, 池为空时创建
+     */
+    private static Deflater borrowDeflater(int level) {
+        if (level < Deflater.DEFAULT_COMPRESSION || level > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("invalid compression level: " + level);
+        }
+        Deflater deflater = DEFLATER_POOLS[level + 1].poll();
+        return deflater == null ? new Deflater(level) : deflater;
+    }
+
+    /**
+     * 重置压缩对象并放回池中, 池已满时释放本地内存
+     */
+    private static void returnDeflater(int level, Deflater deflater) {
+        deflater.reset();
+        if (!DEFLATER_POOLS[level + 1].offer(deflater)) {
+            deflater.end();
+        }
+    }
+
+    /**
+     * 从池中获取解压对象, 池为空时创建
+     */
+    private static Inflater borrowInflater() {
+        return borrowInflater(false);
+    }
+
+    /**
+     * 从池中获取解压对象, 池为空时创建
+     *
+     * @param nowrap 是否为无zlib头部的原始deflate数据
+     */
+    private static Inflater borrowInflater(boolean nowrap) {
+        Inflater inflater = (nowrap ? RAW_INFLATER_POOL : INFLATER_POOL).poll();
+        return inflater == null ? new Inflater(nowrap) : inflater;
+    }
+
+    /**
+     * 重置解压对象并放回池中, 池已满时释放本地内存
+     */
+    private static void returnInflater(Inflater inflater) {
+        returnInflater(false, inflater);
+    }
+
+    /**
+     * 重置解压对象并放回对应的池中, 池已满时释放本地内存
+     */
+    private static void returnInflater(boolean nowrap, Inflater inflater) {
+        inflater.reset();
+        if (!(nowrap ? RAW_INFLATER_POOL : INFLATER_POOL).offer(inflater)) {
+            inflater.end();
+        }
+    }
 
     /**
      * 解压zip压缩数据
      */
     public static byte[] decompress(byte[] data) {
         if (data != null && data.length > 0) {
-            Inflater decompress = new Inflater();
-            try (ByteArrayOutputStream os = new ByteArrayOutputStream()) {
+            Inflater decompress = borrowInflater();
+            try {
                 // 需要解压的数据
                 decompress.setInput(data);
-                byte[] buf = new byte[1024];
+                // 按压缩数据长度预估解压后的长度, 大数据只预估到上限, 不足时扩容
+                long estimate = Math.min((long) data.length << 2, Math.max(data.length, MAX_INITIAL_BUFFER_SIZE));
+                byte[] buf = new byte[(int) Math.max(estimate, MIN_BUFFER_SIZE)];
+                int pos = 0;
                 do {
-                    // 未读取完成则循环写入内存
-                    int len = decompress.inflate(buf);
-                    if (len == 0) {
-                        // TODO 解压数据不完整
-                        break;
+                    if (pos == buf.length) {
+                        buf = grow(buf);
                     }
-                    os.write(buf, 0, len);
+                    // 未读取完成则循环写入缓冲区
+                    int len = decompress.inflate(buf, pos, buf.length - pos);
+                    if (len == 0 && !decompress.finished()) {
+                        checkInflater(decompress);
+                    }
+                    pos += len;
                 } while (!decompress.finished());
-                return os.toByteArray();
+                return pos == buf.length ? buf : Arrays.copyOf(buf, pos);
             } catch (Exception e) {
                 throw new RuntimeException("解压zip数据失败!", e);
             } finally {
-                decompress.end();
+                returnInflater(decompress);
             }
         }
         return data;
@@ -52,93 +225,1222 @@ public final class ZipUtil {
      * zip压缩数据
      */
     public static byte[] compress(byte[] data) {
+        return compress(data, Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * 使用指定压缩级别zip压缩数据
+     *
+     * @param data  数据
+     * @param level 压缩级别, Deflater.DEFAULT_COMPRESSION(-1)或0到9
+     * @return
+     */
+    public static byte[] compress(byte[] data, int level) {
+        return deflate(data, level, null);
+    }
+
+    /**
+     * 使用已注册的预设字典zip压缩数据, 适用于大量内容相似的小数据, 字典ID写入zlib头部, 可使用decompress解压
+     *
+     * @param data         数据
+     * @param dictionaryId registerDictionary返回的字典ID
+     * @return
+     */
+    public static byte[] compressWithDictionary(byte[] data, int dictionaryId) {
+        return compressWithDictionary(data, Deflater.DEFAULT_COMPRESSION, dictionaryId);
+    }
+
+    /**
+     * 使用指定压缩级别和已注册的预设字典zip压缩数据
+     *
+     * @param data         数据
+     * @param level        压缩级别, Deflater.DEFAULT_COMPRESSION(-1)或0到9
+     * @param dictionaryId registerDictionary返回的字典ID
+     * @return
+     */
+    public static byte[] compressWithDictionary(byte[] data, int level, int dictionaryId) {
+        byte[] dictionary = DICTIONARIES.get(dictionaryId);
+        if (dictionary == null) {
+            throw new IllegalArgumentException("未注册的字典: " + Integer.toHexString(dictionaryId));
+        }
+        return deflate(data, level, dictionary);
+    }
+
+    private static byte[] deflate(byte[] data, int level, byte[] dictionary) {
         if (data != null && data.length > 0) {
-            Deflater compress = new Deflater();
-            try (ByteArrayOutputStream os = new ByteArrayOutputStream()) {
+            Deflater compress = borrowDeflater(level);
+            try {
+                if (dictionary != null) {
+                    compress.setDictionary(dictionary);
+                }
                 // 需要压缩的数据
                 compress.setInput(data);
                 // 压缩到缓冲区结尾
                 compress.finish();
-                byte[] buf = new byte[1024];
+                // 按zlib压缩上限预估缓冲区大小, 通常无需扩容
+                byte[] buf = new byte[compressBound(data.length)];
+                int pos = 0;
                 do {
-                    // 未读取完成则循环写入内存
-                    int len = compress.deflate(buf);
-                    os.write(buf, 0, len);
+                    if (pos == buf.length) {
+                        buf = grow(buf);
+                    }
+                    // 未读取完成则循环写入缓冲区
+                    pos += compress.deflate(buf, pos, buf.length - pos);
                 } while (!compress.finished());
-                return os.toByteArray();
+                return Arrays.copyOf(buf, pos);
             } catch (Exception e) {
                 throw new RuntimeException("压缩数据失败!", e);
             } finally {
-                compress.end();
+                returnDeflater(level, compress);
             }
         }
         return data;
     }
 
+    /**
+     * 缓冲区按2倍扩容, 不超过数组最大长度
+     */
+    private static byte[] grow(byte[] buf) {
+        if (buf.length >= MAX_ARRAY_SIZE) {
+            throw new OutOfMemoryError("缓冲区已达到数组最大长度!");
+        }
+        return Arrays.copyOf(buf, (int) Math.min((long) buf.length << 1, MAX_ARRAY_SIZE));
+    }
+
+    /**
+     * 按zlib压缩上限预估的缓冲区大小, 不超过数组最大长度
+     */
+    private static int compressBound(int len) {
+        return (int) Math.min((long) len + (len >> 12) + (len >> 14) + MIN_BUFFER_SIZE, MAX_ARRAY_SIZE);
+    }
+
+    /**
+     * 解压未产生数据时检查原因, 需要字典时设置已注册的字典, 数据不完整或字典未注册时抛出异常
+     */
+    private static void checkInflater(Inflater inflater) throws DataFormatException, EOFException {
+        if (inflater.needsDictionary()) {
+            // 需要字典时getAdler返回zlib头部中的字典ID
+            byte[] dictionary = DICTIONARIES.get(inflater.getAdler());
+            if (dictionary == null) {
+                throw new DataFormatException("需要预设字典才能解压, 字典未注册: " + Integer.toHexString(inflater.getAdler()));
+            }
+            inflater.setDictionary(dictionary);
+            return;
+        }
+        if (inflater.needsInput()) {
+            throw new EOFException("解压数据不完整!");
+        }
+    }
+
+    /**
+     * 注册预设字典, 压缩和解压双方需要注册相同的字典, 重复注册相同字典返回相同ID
+     *
+     * @param dictionary 字典, 最多32K, 常用内容应放在结尾
+     * @return 字典ID, 即字典的Adler-32校验值
+     */
+    public static int registerDictionary(byte[] dictionary) {
+        Objects.requireNonNull(dictionary, "dictionary must be not null");
+        if (dictionary.length == 0 || dictionary.length > DICTIONARY_SIZE) {
+            throw new IllegalArgumentException("字典长度必须在1到" + DICTIONARY_SIZE + "之间!");
+        }
+        Adler32 adler32 = new Adler32();
+        adler32.update(dictionary, 0, dictionary.length);
+        int id = (int) adler32.getValue();
+        byte[] existing = DICTIONARIES.putIfAbsent(id, dictionary.clone());
+        if (existing != null && !Arrays.equals(existing, dictionary)) {
+            throw new IllegalStateException("字典ID冲突: " + Integer.toHexString(id));
+        }
+        return id;
+    }
+
+    /**
+     * 注销预设字典, 注销后无法解压使用该字典压缩的数据
+     */
+    public static void unregisterDictionary(int dictionaryId) {
+        DICTIONARIES.remove(dictionaryId);
+    }
+
+    /**
+     * 根据样本数据训练预设字典, 贪心选取在最多样本中出现的内容段, 出现次数越多的内容越靠近字典结尾
+     *
+     * @param samples 样本数据, 应与实际压缩的数据内容相似
+     * @param size    字典最大长度, 最多32K
+     * @return 字典, 样本中没有重复内容时返回空数组
+     */
+    public static byte[] trainDictionary(Collection<byte[]> samples, int size) {
+        Objects.requireNonNull(samples, "samples must be not null");
+        if (size <= 0 || size > DICTIONARY_SIZE) {
+            throw new IllegalArgumentException("字典长度必须在1到" + DICTIONARY_SIZE + "之间!");
+        }
+        // 统计每个片段出现在多少个样本中
+        Map<Long, Integer> frequencies = new HashMap<>();
+        for (byte[] sample : samples) {
+            Set<Long> grams = new HashSet<>();
+            for (int i = 0; i + DICTIONARY_GRAM_SIZE <= sample.length; i++) {
+                long gram = gram(sample, i);
+                if (grams.add(gram)) {
+                    frequencies.merge(gram, 1, Integer::sum);
+                }
+            }
+        }
+        // 按样本段得分选取, 已选内容的片段不再计分, 得分只会降低, 因此可以延迟更新得分
+        PriorityQueue<long[]> segments = new PriorityQueue<>((a, b) -> Long.compare(b[0], a[0]));
+        List<byte[]> list = new ArrayList<>(samples);
+        for (int index = 0; index < list.size(); index++) {
+            for (int off = 0; off + DICTIONARY_GRAM_SIZE <= list.get(index).length; off += DICTIONARY_SEGMENT_SIZE) {
+                long[] segment = {0, index, off};
+                segment[0] = score(list.get(index), off, frequencies);
+                if (segment[0] > 0) {
+                    segments.add(segment);
+                }
+            }
+        }
+        byte[] dictionary = new byte[size];
+        int pos = size;
+        while (pos > 0 && !segments.isEmpty()) {
+            long[] segment = segments.poll();
+            byte[] sample = list.get((int) segment[1]);
+            int off = (int) segment[2];
+            long score = score(sample, off, frequencies);
+            if (score <= 0) {
+                continue;
+            }
+            if (!segments.isEmpty() && score < segments.peek()[0]) {
+                segment[0] = score;
+                segments.add(segment);
+                continue;
+            }
+            int len = Math.min(Math.min(DICTIONARY_SEGMENT_SIZE, sample.length - off), pos);
+            pos -= len;
+            System.arraycopy(sample, off, dictionary, pos, len);
+            for (int i = off; i + DICTIONARY_GRAM_SIZE <= off + len; i++) {
+                frequencies.put(gram(sample, i), 0);
+            }
+        }
+        return Arrays.copyOfRange(dictionary, pos, size);
+    }
+
+    /**
+     * 样本段中出现在多个样本中的片段的出现次数之和
+     */
+    private static long score(byte[] sample, int off, Map<Long, Integer> frequencies) {
+        long score = 0;
+        int end = Math.min(off + DICTIONARY_SEGMENT_SIZE, sample.length);
+        for (int i = off; i + DICTIONARY_GRAM_SIZE <= end; i++) {
+            int frequency = frequencies.getOrDefault(gram(sample, i), 0);
+            if (frequency > 1) {
+                score += frequency;
+            }
+        }
+        return score;
+    }
+
+    private static long gram(byte[] data, int off) {
+        long gram = 0;
+        for (int i = off; i < off + DICTIONARY_GRAM_SIZE; i++) {
+            gram = gram << 8 | data[i] & 0xFF;
+        }
+        return gram;
+    }
+
+    /**
+     * 将输入流数据zip压缩写入输出流, 使用固定大小的缓冲区, 不关闭流, 并返回输出流对象
+     */
+    public static <T extends OutputStream> T compress(InputStream is, T os) {
+        return compress(is, os, Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * 使用指定压缩级别将输入流数据zip压缩写入输出流, 使用固定大小的缓冲区, 不关闭流, 并返回输出流对象
+     */
+    public static <T extends OutputStream> T compress(InputStream is, T os, int level) {
+        Objects.requireNonNull(is, "is must be not null");
+        Objects.requireNonNull(os, "os must be not null");
+        Deflater compress = borrowDeflater(level);
+        try {
+            byte[] in = new byte[IOUtil.BUFFER_SIZE];
+            byte[] out = new byte[IOUtil.BUFFER_SIZE];
+            for (int len; (len = is.read(in)) != -1; ) {
+                compress.setInput(in, 0, len);
+                while (!compress.needsInput()) {
+                    os.write(out, 0, compress.deflate(out));
+                }
+            }
+            compress.finish();
+            while (!compress.finished()) {
+                os.write(out, 0, compress.deflate(out));
+            }
+            os.flush();
+            return os;
+        } catch (Exception e) {
+            throw new RuntimeException("压缩数据失败!", e);
+        } finally {
+            returnDeflater(level, compress);
+        }
+    }
+
+    /**
+     * 将输入流的zip压缩数据解压写入输出流, 使用固定大小的缓冲区, 不关闭流, 并返回输出流对象, 数据不完整时抛出异常
+     */
+    public static <T extends OutputStream> T decompress(InputStream is, T os) {
+        Objects.requireNonNull(is, "is must be not null");
+        Objects.requireNonNull(os, "os must be not null");
+        Inflater decompress = borrowInflater();
+        try {
+            byte[] in = new byte[IOUtil.BUFFER_SIZE];
+            byte[] out = new byte[IOUtil.BUFFER_SIZE];
+            for (int len; ; ) {
+                if ((len = decompress.inflate(out)) > 0) {
+                    os.write(out, 0, len);
+                }
+                if (decompress.finished()) {
+                    break;
+                }
+                if (len == 0 && decompress.needsDictionary()) {
+                    checkInflater(decompress);
+                }
+                if (len == 0 && decompress.needsInput()) {
+                    int read = is.read(in);
+                    if (read == -1) {
+                        throw new EOFException("解压数据不完整!");
+                    }
+                    decompress.setInput(in, 0, read);
+                }
+            }
+            os.flush();
+            return os;
+        } catch (Exception e) {
+            throw new RuntimeException("解压zip数据失败!", e);
+        } finally {
+            returnInflater(decompress);
+        }
+    }
+
+    /**
+     * 将源通道数据zip压缩写入目标通道, 使用固定大小的缓冲区, 不关闭通道
+     */
+    public static void compress(ReadableByteChannel src, WritableByteChannel dest) {
+        compress(Channels.newInputStream(src), Channels.newOutputStream(dest));
+    }
+
+    /**
+     * 将源通道的zip压缩数据解压写入目标通道, 使用固定大小的缓冲区, 不关闭通道, 数据不完整时抛出异常
+     */
+    public static void decompress(ReadableByteChannel src, WritableByteChannel dest) {
+        decompress(Channels.newInputStream(src), Channels.newOutputStream(dest));
+    }
+
+    /**
+     * 使用默认压缩级别和分块大小, 在ForkJoinPool.commonPool()中并行zip压缩数据
+     */
+    public static byte[] compressParallel(byte[] data) {
+        return compressParallel(data, Deflater.DEFAULT_COMPRESSION, DEFAULT_PARALLEL_BLOCK_SIZE, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 并行zip压缩数据, 按固定大小分块并行压缩, 每块使用上一块尾部作为预设字典, 输出标准zlib格式, 可使用decompress解压
+     *
+     * @param data      数据
+     * @param level     压缩级别
+     * @param blockSize 分块大小
+     * @param pool      并行压缩的线程池
+     * @return
+     */
+    public static byte[] compressParallel(byte[] data, int level, int blockSize, ForkJoinPool pool) {
+        Objects.requireNonNull(pool, "pool must be not null");
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("blockSize must be greater than 0");
+        }
+        if (data == null || data.length <= blockSize) {
+            return compress(data, level);
+        }
+        int count = (data.length + blockSize - 1) / blockSize;
+        Pair<byte[], Long>[] blocks = newBlocks(count);
+        try {
+            pool.submit(() -> IntStream.range(0, count).parallel().forEach(index -> {
+                int off = index * blockSize;
+                int dictOff = Math.max(0, off - DICTIONARY_SIZE);
+                blocks[index] = deflateBlock(data, off, Math.min(blockSize, data.length - off),
+                        data, dictOff, off - dictOff, index == count - 1, level);
+            })).get();
+        } catch (Exception e) {
+            throw new RuntimeException("压缩数据失败!", e);
+        }
+        try (ByteArrayOutputStream os = new ByteArrayOutputStream(data.length >> 1)) {
+            os.write(zlibHeader(level));
+            long adler = 1;
+            for (int index = 0; index < count; index++) {
+                os.write(blocks[index].getLeft());
+                adler = adler32Combine(adler, blocks[index].getRight(), Math.min(blockSize, data.length - index * blockSize));
+            }
+            os.write(adler32Trailer(adler));
+            return os.toByteArray();
+        } catch (Exception e) {
+            throw new RuntimeException("压缩数据失败!", e);
+        }
+    }
+
+    /**
+     * 并行zip压缩输入流数据写入输出流, 同时处理的分块数量为线程池并行度的2倍, 内存占用与数据大小无关, 不关闭流, 并返回输出流对象
+     *
+     * @param is        输入流
+     * @param os        输出流
+     * @param level     压缩级别
+     * @param blockSize 分块大小
+     * @param pool      并行压缩的线程池
+     * @return
+     */
+    public static <T extends OutputStream> T compressParallel(InputStream is, T os, int level, int blockSize, ForkJoinPool pool) {
+        Objects.requireNonNull(is, "is must be not null");
+        Objects.requireNonNull(os, "os must be not null");
+        Objects.requireNonNull(pool, "pool must be not null");
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("blockSize must be greater than 0");
+        }
+        if (level < Deflater.DEFAULT_COMPRESSION || level > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("invalid compression level: " + level);
+        }
+        int window = Math.max(2, pool.getParallelism() << 1);
+        Deque<ForkJoinTask<Pair<byte[], Long>>> tasks = new ArrayDeque<>(window);
+        Deque<Integer> lengths = new ArrayDeque<>(window);
+        try {
+            os.write(zlibHeader(level));
+            long adler = 1;
+            byte[] dictionary = IOUtil.EMPTY_BYTE_ARRAY;
+            // 预读下一块以判断当前块是否为最后一块
+            byte[] block = readBlock(is, blockSize);
+            do {
+                byte[] next = block.length < blockSize ? IOUtil.EMPTY_BYTE_ARRAY : readBlock(is, blockSize);
+                byte[] current = block;
+                byte[] dict = dictionary;
+                boolean last = next.length == 0;
+                tasks.addLast(pool.submit(() -> deflateBlock(current, 0, current.length, dict, 0, dict.length, last, level)));
+                lengths.addLast(current.length);
+                dictionary = Arrays.copyOfRange(current, Math.max(0, current.length - DICTIONARY_SIZE), current.length);
+                block = next;
+                while (tasks.size() >= window || (last && !tasks.isEmpty())) {
+                    Pair<byte[], Long> result = FutureUtil.getUnchecked(tasks.removeFirst());
+                    os.write(result.getLeft());
+                    adler = adler32Combine(adler, result.getRight(), lengths.removeFirst());
+                }
+            } while (block.length > 0);
+            os.write(adler32Trailer(adler));
+            os.flush();
+            return os;
+        } catch (Exception e) {
+            tasks.forEach(task -> task.cancel(true));
+            throw new RuntimeException("压缩数据失败!", e);
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Pair<byte[], Long>[] newBlocks(int count) {
+        return new Pair[count];
+    }
+
+    /**
+     * 读取一个分块, 不足分块大小说明已读取到结尾
+     */
+    private static byte[] readBlock(InputStream is, int blockSize) throws IOException {
+        byte[] block = new byte[blockSize];
+        int pos = 0;
+        for (int len; pos < blockSize && (len = is.read(block, pos, blockSize - pos)) != -1; ) {
+            pos += len;
+        }
+        return pos == blockSize ? block : Arrays.copyOf(block, pos);
+    }
+
+    /**
+     * 使用预设字典将一个分块压缩为原始deflate数据, 非最后一块以SYNC_FLUSH结束使输出按字节对齐
+     *
+     * @return 压缩数据和分块的Adler-32校验值
+     */
+    private static Pair<byte[], Long> deflateBlock(byte[] data, int off, int len, byte[] dict, int dictOff, int dictLen, boolean last, int level) {
+        Deflater deflater = new Deflater(level, true);
+        try {
+            if (dictLen > 0) {
+                deflater.setDictionary(dict, dictOff, dictLen);
+            }
+            deflater.setInput(data, off, len);
+            byte[] buf = new byte[compressBound(len)];
+            int pos = 0;
+            if (last) {
+                deflater.finish();
+                while (!deflater.finished()) {
+                    if (pos == buf.length) {
+                        buf = grow(buf);
+                    }
+                    pos += deflater.deflate(buf, pos, buf.length - pos);
+                }
+            } else {
+                for (int n; ; ) {
+                    n = deflater.deflate(buf, pos, buf.length - pos, Deflater.SYNC_FLUSH);
+                    pos += n;
+                    if (pos < buf.length) {
+                        // 输出未填满缓冲区说明已刷新完成
+                        break;
+                    }
+                    buf = grow(buf);
+                }
+            }
+            Adler32 adler32 = new Adler32();
+            adler32.update(data, off, len);
+            return ImmutablePair.of(Arrays.copyOf(buf, pos), adler32.getValue());
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * zlib头部, 压缩方法为deflate, 窗口32K, 并标记压缩级别
+     */
+    private static byte[] zlibHeader(int level) {
+        int cmf = 0x78;
+        int flevel = level == Deflater.DEFAULT_COMPRESSION || level == 6 ? 2 : level < 2 ? 0 : level < 6 ? 1 : 3;
+        int flg = flevel << 6;
+        flg += 31 - (cmf << 8 | flg) % 31;
+        return new byte[]{(byte) cmf, (byte) flg};
+    }
+
+    /**
+     * zlib尾部, 大端序Adler-32校验值
+     */
+    private static byte[] adler32Trailer(long adler) {
+        return new byte[]{(byte) (adler >>> 24), (byte) (adler >>> 16), (byte) (adler >>> 8), (byte) adler};
+    }
+
+    /**
+     * 合并两段数据的Adler-32校验值, 同zlib的adler32_combine
+     *
+     * @param adler1 第一段校验值
+     * @param adler2 第二段校验值
+     * @param len2   第二段长度
+     */
+    private static long adler32Combine(long adler1, long adler2, long len2) {
+        long rem = len2 % ADLER_BASE;
+        long sum1 = adler1 & 0xFFFF;
+        long sum2 = rem * sum1 % ADLER_BASE;
+        sum1 += (adler2 & 0xFFFF) + ADLER_BASE - 1;
+        sum2 += (adler1 >>> 16 & 0xFFFF) + (adler2 >>> 16 & 0xFFFF) + ADLER_BASE - rem;
+        if (sum1 >= ADLER_BASE) {
+            sum1 -= ADLER_BASE;
+        }
+        if (sum1 >= ADLER_BASE) {
+            sum1 -= ADLER_BASE;
+        }
+        if (sum2 >= (long) ADLER_BASE << 1) {
+            sum2 -= (long) ADLER_BASE << 1;
+        }
+        if (sum2 >= ADLER_BASE) {
+            sum2 -= ADLER_BASE;
+        }
+        return sum1 | sum2 << 16;
+    }
+
+    /**
+     * 基于中央目录索引的zip随机读取对象, 创建时解析一次中央目录建立名称索引, 读取时按偏移量直接定位条目数据, 多线程安全, 不支持ZIP64和加密条目
+     */
+    public static final class ZipReader {
+        /**
+         * 本地文件头签名
+         */
+        static final int LOCAL_SIGNATURE = 0x04034b50;
+        /**
+         * 中央目录条目签名
+         */
+        static final int CENTRAL_SIGNATURE = 0x02014b50;
+        /**
+         * 中央目录结束记录签名
+         */
+        static final int END_SIGNATURE = 0x06054b50;
+        static final int LOCAL_HEADER_SIZE = 30;
+        static final int CENTRAL_HEADER_SIZE = 46;
+        static final int END_HEADER_SIZE = 22;
+        /**
+         * 只使用绝对位置读取, 不修改position, 因此可以在多线程间共享
+         */
+        private final ByteBuffer buffer;
+        private final boolean ignoreCase;
+        /**
+         * 中央目录顺序的条目
+         */
+        private final List<Item> items;
+        private final Map<String, Item> index;
+        private final int centralDirectoryOffset;
+        private final int endOffset;
+
+        /**
+         * 中央目录中的条目信息
+         */
+        static final class Item {
+            final String name;
+            final int flags;
+            final int method;
+            final long crc;
+            final long compressedSize;
+            final long size;
+            final int localOffset;
+            /**
+             * 中央目录条目在zip中的位置和长度
+             */
+            final int centralOffset;
+            final int centralLength;
+
+            Item(String name, int flags, int method, long crc, long compressedSize, long size, int localOffset, int centralOffset, int centralLength) {
+                this.name = name;
+                this.flags = flags;
+                this.method = method;
+                this.crc = crc;
+                this.compressedSize = compressedSize;
+                this.size = size;
+                this.localOffset = localOffset;
+                this.centralOffset = centralOffset;
+                this.centralLength = centralLength;
+            }
+
+            boolean isDirectory() {
+                return name.endsWith("/");
+            }
+        }
+
+        private ZipReader(ByteBuffer zip, boolean ignoreCase) throws ZipException {
+            this(zip, ignoreCase, null);
+        }
+
+        /**
+         * @param name 不为null时不建立完整索引, 只扫描查找该名称的第一个条目, 不匹配的条目不创建对象
+         */
+        private ZipReader(ByteBuffer zip, boolean ignoreCase, String name) throws ZipException {
+            this.buffer = zip.slice().order(ByteOrder.LITTLE_ENDIAN);
+            this.ignoreCase = ignoreCase;
+            this.endOffset = findEnd(buffer);
+            if (endOffset < 0) {
+                throw new ZipException("未找到zip中央目录");
+            }
+            int count = buffer.getShort(endOffset + 10) & 0xFFFF;
+            long size = buffer.getInt(endOffset + 12) & 0xFFFFFFFFL;
+            long offset = buffer.getInt(endOffset + 16) & 0xFFFFFFFFL;
+            if (count == 0xFFFF || size == 0xFFFFFFFFL || offset == 0xFFFFFFFFL) {
+                throw new ZipException("不支持ZIP64格式");
+            }
+            if (offset + size > endOffset) {
+                throw new ZipException("zip中央目录位置无效");
+            }
+            this.centralDirectoryOffset = (int) offset;
+            List<Item> items = new ArrayList<>(name == null ? count : 1);
+            Map<String, Item> index = new HashMap<>(name == null ? Math.max(16, (int) (count / 0.75f) + 1) : 2);
+            String target = name == null ? null : key(name);
+            byte[] targetBytes = name == null ? null : target.getBytes(StandardCharsets.UTF_8);
+            int end = (int) (offset + size);
+            // 以中央目录长度为准遍历, 兼容条目数溢出65535的写入方
+            for (int pos = centralDirectoryOffset; pos < end; ) {
+                if (pos + CENTRAL_HEADER_SIZE > end || buffer.getInt(pos) != CENTRAL_SIGNATURE) {
+                    throw new ZipException("zip中央目录条目无效, 位置: " + pos);
+                }
+                int nameLength = buffer.getShort(pos + 28) & 0xFFFF;
+                int next = pos + CENTRAL_HEADER_SIZE + nameLength + (buffer.getShort(pos + 30) & 0xFFFF) + (buffer.getShort(pos + 32) & 0xFFFF);
+                if (next > end) {
+                    throw new ZipException("zip中央目录条目无效, 位置: " + pos);
+                }
+                if (target != null && !matches(pos + CENTRAL_HEADER_SIZE, nameLength, targetBytes, target)) {
+                    pos = next;
+                    continue;
+                }
+                byte[] entryName = new byte[nameLength];
+                getBytes(pos + CENTRAL_HEADER_SIZE, entryName, 0, nameLength);
+                long compressedSize = buffer.getInt(pos + 20) & 0xFFFFFFFFL;
+                long entrySize = buffer.getInt(pos + 24) & 0xFFFFFFFFL;
+                long localOffset = buffer.getInt(pos + 42) & 0xFFFFFFFFL;
+                if (compressedSize == 0xFFFFFFFFL || entrySize == 0xFFFFFFFFL || localOffset == 0xFFFFFFFFL) {
+                    throw new ZipException("不支持ZIP64格式");
+                }
+                Item item = new Item(new String(entryName, StandardCharsets.UTF_8), buffer.getShort(pos + 8) & 0xFFFF, buffer.getShort(pos + 10) & 0xFFFF,
+                        buffer.getInt(pos + 16) & 0xFFFFFFFFL, compressedSize, entrySize, (int) localOffset, pos, next - pos);
+                items.add(item);
+                // 同名条目以第一个为准
+                index.putIfAbsent(key(item.name), item);
+                if (target != null) {
+                    break;
+                }
+                pos = next;
+            }
+            this.items = Collections.unmodifiableList(items);
+            this.index = index;
+        }
+
+        /**
+         * 中央目录中的条目名称是否与查找的名称相同, 都是ASCII时直接比较字节, 否则解码后比较
+         *
+         * @param target      查找的名称, 忽略大小写时已转为小写
+         * @param targetBytes 查找名称的UTF-8编码
+         */
+        private boolean matches(int pos, int length, byte[] targetBytes, String target) {
+            boolean ascii = true;
+            for (int i = 0; ascii && i < length; i++) {
+                ascii = buffer.get(pos + i) >= 0;
+            }
+            for (int i = 0; ascii && i < targetBytes.length; i++) {
+                ascii = targetBytes[i] >= 0;
+            }
+            if (ascii || !ignoreCase) {
+                // 都是ASCII或不忽略大小写时, 名称相同等价于UTF-8编码按字节(ASCII忽略大小写)相同
+                if (length != targetBytes.length) {
+                    return false;
+                }
+                for (int i = 0; i < length; i++) {
+                    byte b = buffer.get(pos + i);
+                    if (b != targetBytes[i] && (!ignoreCase || b < 'A' || b > 'Z' || b + ('a' - 'A') != targetBytes[i])) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            byte[] name = new byte[length];
+            getBytes(pos, name, 0, length);
+            return key(new String(name, StandardCharsets.UTF_8)).equals(target);
+        }
+
+        /**
+         * 从结尾向前查找中央目录结束记录, 记录后最多有65535字节的注释
+         */
+        private static int findEnd(ByteBuffer buffer) {
+            int min = Math.max(0, buffer.limit() - END_HEADER_SIZE - 0xFFFF);
+            for (int pos = buffer.limit() - END_HEADER_SIZE; pos >= min; pos--) {
+                if (buffer.getInt(pos) == END_SIGNATURE && pos + END_HEADER_SIZE + (buffer.getShort(pos + 20) & 0xFFFF) == buffer.limit()) {
+                    return pos;
+                }
+            }
+            return -1;
+        }
+
+        private String key(String name) {
+            return ignoreCase ? name.toLowerCase(Locale.ROOT) : name;
+        }
+
+        /**
+         * 从指定位置复制数据, 使用副本读取, 不影响共享缓冲区的position
+         */
+        private void getBytes(int position, byte[] dest, int off, int len) {
+            ByteBuffer buf = buffer.duplicate();
+            buf.position(position);
+            buf.get(dest, off, len);
+        }
+
+        /**
+         * 条目数量
+         */
+        public int size() {
+            return items.size();
+        }
+
+        /**
+         * 按中央目录顺序获取所有条目名称
+         */
+        public List<String> getNames() {
+            List<String> names = new ArrayList<>(items.size());
+            for (Item item : items) {
+                names.add(item.name);
+            }
+            return names;
+        }
+
+        /**
+         * 是否存在指定名称的条目
+         */
+        public boolean contains(String name) {
+            return name != null && index.containsKey(key(name));
+        }
+
+        /**
+         * 获取条目解压后的长度, 不存在时返回-1
+         */
+        public long getSize(String name) {
+            Item item = name == null ? null : index.get(key(name));
+            return item == null ? -1 : item.size;
+        }
+
+        /**
+         * 读取条目内容, 条目不存在或为目录时返回null, 数据损坏时抛出异常
+         */
+        public byte[] read(String name) {
+            Item item = name == null ? null : index.get(key(name));
+            if (item == null || item.isDirectory()) {
+                return null;
+            }
+            try {
+                return read(item);
+            } catch (Exception e) {
+                throw new RuntimeException("读取zip条目失败: " + name, e);
+            }
+        }
+
+        private byte[] read(Item item) throws ZipException {
+            if ((item.flags & 1) != 0) {
+                throw new ZipException("不支持加密条目");
+            }
+            if (item.size > Integer.MAX_VALUE - 8) {
+                throw new ZipException("条目过大: " + item.size);
+            }
+            int off = dataOffset(item);
+            int compressedSize = (int) item.compressedSize;
+            byte[] data;
+            if (item.method == ZipEntry.STORED) {
+                if (item.compressedSize != item.size) {
+                    throw new ZipException("条目长度无效");
+                }
+                data = new byte[compressedSize];
+                getBytes(off, data, 0, compressedSize);
+            } else if (item.method == ZipEntry.DEFLATED) {
+                data = inflate(off, compressedSize, (int) item.size);
+            } else {
+                throw new ZipException("不支持的压缩方法: " + item.method);
+            }
+            CRC32 crc = new CRC32();
+            crc.update(data, 0, data.length);
+            if (crc.getValue() != item.crc) {
+                throw new ZipException("条目CRC校验失败");
+            }
+            return data;
+        }
+
+        /**
+         * 根据本地文件头计算条目数据的位置, 本地文件头的扩展字段长度可能与中央目录不同
+         */
+        private int dataOffset(Item item) throws ZipException {
+            int pos = item.localOffset;
+            if (pos + LOCAL_HEADER_SIZE > centralDirectoryOffset || buffer.getInt(pos) != LOCAL_SIGNATURE) {
+                throw new ZipException("zip本地文件头无效, 位置: " + pos);
+            }
+            int off = pos + LOCAL_HEADER_SIZE + (buffer.getShort(pos + 26) & 0xFFFF) + (buffer.getShort(pos + 28) & 0xFFFF);
+            if (off + item.compressedSize > centralDirectoryOffset) {
+                throw new ZipException("zip条目数据越界, 位置: " + pos);
+            }
+            return off;
+        }
+
+        private byte[] inflate(int off, int compressedSize, int size) throws ZipException {
+            Inflater inflater = borrowInflater(true);
+            try {
+                if (buffer.hasArray()) {
+                    inflater.setInput(buffer.array(), buffer.arrayOffset() + off, compressedSize);
+                } else {
+                    byte[] input = new byte[compressedSize];
+                    getBytes(off, input, 0, compressedSize);
+                    inflater.setInput(input);
+                }
+                byte[] data = new byte[size];
+                for (int pos = 0; pos < size; ) {
+                    int len = inflater.inflate(data, pos, size - pos);
+                    if (len == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+                        throw new ZipException("条目数据不完整");
+                    }
+                    pos += len;
+                }
+                return data;
+            } catch (DataFormatException e) {
+                ZipException ze = new ZipException("条目数据格式错误");
+                ze.initCause(e);
+                throw ze;
+            } finally {
+                returnInflater(true, inflater);
+            }
+        }
+    }
+
+    /**
+     * 创建zip随机读取对象, 名称区分大小写
+     */
+    public static ZipReader newZipReader(byte[] zip) {
+        return newZipReader(zip, false);
+    }
+
+    /**
+     * 创建zip随机读取对象
+     *
+     * @param zip        zip数据, 读取期间不能修改
+     * @param ignoreCase 查找条目时是否忽略名称大小写
+     * @return
+     */
+    public static ZipReader newZipReader(byte[] zip, boolean ignoreCase) {
+        Objects.requireNonNull(zip, "zip must be not null");
+        return newZipReader(ByteBuffer.wrap(zip), ignoreCase);
+    }
+
+    /**
+     * 创建zip随机读取对象, 使用缓冲区position到limit之间的数据, 不改变缓冲区的position
+     *
+     * @param zip        zip数据, 读取期间不能修改
+     * @param ignoreCase 查找条目时是否忽略名称大小写
+     * @return
+     */
+    public static ZipReader newZipReader(ByteBuffer zip, boolean ignoreCase) {
+        Objects.requireNonNull(zip, "zip must be not null");
+        try {
+            return new ZipReader(zip, ignoreCase);
+        } catch (Exception e) {
+            throw new RuntimeException("解析zip包失败!", e);
+        }
+    }
+
+    /**
+     * 通过内存映射创建zip文件的随机读取对象, 文件不能超过2G
+     *
+     * @param path       zip文件
+     * @param ignoreCase 查找条目时是否忽略名称大小写
+     * @return
+     */
+    public static ZipReader newZipReader(Path path, boolean ignoreCase) {
+        Objects.requireNonNull(path, "path must be not null");
+        ByteBuffer zip;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("zip文件不能超过2G: " + path);
+            }
+            zip = channel.map(MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new RuntimeException("读取zip文件失败: " + path, e);
+        }
+        return newZipReader(zip, ignoreCase);
+    }
+
+    /**
+     * 将条目流式写入zip输出流, 使用默认压缩级别, 不关闭流, 并返回输出流对象
+     *
+     * @see #writeZip(Iterator, OutputStream, int)
+     */
+    public static <T extends OutputStream> T writeZip(Iterator<? extends Entry<String, ? extends Callable<? extends InputStream>>> entries, T os) {
+        return writeZip(entries, os, Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * 将条目流式写入zip输出流, 每次只打开一个条目的输入流, 使用固定大小的缓冲区复制数据, 内存占用与条目大小无关, 不关闭流, 并返回输出流对象<br/>
+     * 已压缩格式(按扩展名判断)的条目使用STORED方式写入, 需要预先计算CRC, 因此其输入流提供者会被调用两次<br/>
+     * 名称以/结尾的条目为目录, 输入流提供者可以为null
+     *
+     * @param entries 条目名称和输入流提供者, 输入流由本方法关闭
+     * @param os      输出流
+     * @param level   压缩级别
+     * @return
+     */
+    public static <T extends OutputStream> T writeZip(Iterator<? extends Entry<String, ? extends Callable<? extends InputStream>>> entries, T os, int level) {
+        Objects.requireNonNull(entries, "entries must be not null");
+        Objects.requireNonNull(os, "os must be not null");
+        if (level < Deflater.DEFAULT_COMPRESSION || level > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("invalid compression level: " + level);
+        }
+        // 不关闭调用方的输出流, 关闭ZipOutputStream以释放其压缩对象
+        try (ZipOutputStream zos = new ZipOutputStream(IOUtil.nonClosing(os))) {
+            zos.setLevel(level);
+            byte[] buffer = new byte[IOUtil.BUFFER_SIZE];
+            while (entries.hasNext()) {
+                Entry<String, ? extends Callable<? extends InputStream>> en = entries.next();
+                String name = en.getKey();
+                ZipEntry entry = new ZipEntry(name);
+                if (entry.isDirectory()) {
+                    zos.putNextEntry(entry);
+                } else {
+                    Callable<? extends InputStream> supplier = Objects.requireNonNull(en.getValue(), "entry supplier must be not null: " + name);
+                    if (isCompressed(name)) {
+                        // STORED条目在写入前需要长度和CRC
+                        CRC32 crc = new CRC32();
+                        long size = 0;
+                        try (InputStream is = supplier.call()) {
+                            for (int len; (len = is.read(buffer)) != -1; size += len) {
+                                crc.update(buffer, 0, len);
+                            }
+                        }
+                        entry.setMethod(ZipEntry.STORED);
+                        entry.setSize(size);
+                        entry.setCompressedSize(size);
+                        entry.setCrc(crc.getValue());
+                    }
+                    zos.putNextEntry(entry);
+                    try (InputStream is = supplier.call()) {
+                        for (int len; (len = is.read(buffer)) != -1; ) {
+                            zos.write(buffer, 0, len);
+                        }
+                    }
+                }
+                zos.closeEntry();
+            }
+        } catch (Exception e) {
+            throw new RuntimeException("压缩zip包失败!", e);
+        }
+        return os;
+    }
+
+    /**
+     * 将条目流式写入通道, 使用默认压缩级别, 不关闭通道
+     *
+     * @see #writeZip(Iterator, OutputStream, int)
+     */
+    public static void writeZip(Iterator<? extends Entry<String, ? extends Callable<? extends InputStream>>> entries, WritableByteChannel channel) {
+        Objects.requireNonNull(channel, "channel must be not null");
+        writeZip(entries, Channels.newOutputStream(channel), Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * 根据扩展名判断条目是否为已压缩格式
+     */
+    private static boolean isCompressed(String name) {
+        int index = name.lastIndexOf('.');
+        return index >= 0 && index > name.lastIndexOf('/') && COMPRESSED_EXTENSIONS.contains(name.substring(index + 1).toLowerCase(Locale.ROOT));
+    }
+
     /**
      * 创建zip并添加条目
      */
     public static byte[] generateZip(Map<String, byte[]> entries) {
-        return addZipEntry(null, entries);
+        return addZipEntry((byte[]) null, entries);
     }
 
     /**
-     * 给zip压缩包添加条目
+     * 给zip压缩包添加条目, 原有条目数据原样保留, 只写入新条目并重建中央目录
      *
      * @param zip
      * @param entries
      * @return
      */
     public static byte[] addZipEntry(byte[] zip, Map<String, byte[]> entries) {
-        try (ByteArrayOutputStream os = new ByteArrayOutputStream()) {
-            if (zip != null && zip.length > 0) {
-                os.write(zip);
-            }
-            ZipOutputStream zos = new ZipOutputStream(os);
-            if (entries != null && !entries.isEmpty()) {
-                for (Entry<String, byte[]> en : entries.entrySet()) {
-                    String name = en.getKey();
-                    byte[] data = en.getValue();
-                    try {
-                        ZipEntry entry = new ZipEntry(name);
-                        zos.putNextEntry(entry);
-                        // 写入数据
-                        zos.write(data);
-                        // 关闭当前条目，指向下一个条目
-                        zos.closeEntry();
-                    } catch (Exception e) {
-                        throw new RuntimeException(e.getMessage(), e);
-                    }
-                }
+        try (ByteArrayOutputStream os = new ByteArrayOutputStream((zip == null ? 0 : zip.length) + IOUtil.BUFFER_SIZE)) {
+            if (zip == null || zip.length == 0) {
+                appendEntries(ByteBuffer.allocate(0), 0, IOUtil.EMPTY_BYTE_ARRAY, entries, os);
+                return os.toByteArray();
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(zip).order(ByteOrder.LITTLE_ENDIAN);
+            int end = ZipReader.findEnd(buffer);
+            if (end < 0) {
+                // 没有中央目录(早期版本生成), 读取全部条目后重新生成
+                return addZipEntry(generateZip(readLocalEntries(zip)), entries);
             }
+            long[] directory = readEnd(buffer, end);
+            int offset = (int) directory[1];
+            os.write(zip, 0, offset);
+            ByteBuffer centralDirectory = ByteBuffer.wrap(zip, offset, (int) directory[0]).slice().order(ByteOrder.LITTLE_ENDIAN);
+            appendEntries(centralDirectory, offset, Arrays.copyOfRange(zip, end + ZipReader.END_HEADER_SIZE, zip.length), entries, os);
             return os.toByteArray();
         } catch (Exception e) {
             throw new RuntimeException("压缩zip包失败!", e);
         }
     }
 
+    /**
+     * 在zip文件中原地追加条目, 只读取中央目录, 从原中央目录位置写入新条目数据, 再写回原中央目录、新条目的中央目录记录和结束记录, 耗时与新条目大小成正比<br/>
+     * 文件不存在或为空时创建新的zip文件, 写入过程中异常中断会导致文件损坏
+     *
+     * @param zip     zip文件
+     * @param entries 新条目, 名称不能与原有条目重复
+     */
+    public static void addZipEntry(Path zip, Map<String, byte[]> entries) {
+        Objects.requireNonNull(zip, "zip must be not null");
+        try (FileChannel channel = FileChannel.open(zip, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            ByteBuffer centralDirectory = ByteBuffer.allocate(0);
+            long offset = 0;
+            byte[] comment = IOUtil.EMPTY_BYTE_ARRAY;
+            if (size > 0) {
+                // 结束记录在文件末尾, 其后最多有65535字节的注释
+                ByteBuffer tail = ByteBuffer.allocate((int) Math.min(size, ZipReader.END_HEADER_SIZE + 0xFFFF)).order(ByteOrder.LITTLE_ENDIAN);
+                readFully(channel, tail, size - tail.capacity());
+                int end = ZipReader.findEnd(tail);
+                if (end < 0) {
+                    throw new ZipException("未找到zip中央目录");
+                }
+                long[] directory = readEnd(tail, end);
+                offset = directory[1];
+                centralDirectory = ByteBuffer.allocate((int) directory[0]).order(ByteOrder.LITTLE_ENDIAN);
+                readFully(channel, centralDirectory, offset);
+                comment = Arrays.copyOfRange(tail.array(), end + ZipReader.END_HEADER_SIZE, tail.capacity());
+            }
+            channel.position(offset);
+            OutputStream os = new BufferedOutputStream(Channels.newOutputStream(channel), IOUtil.BUFFER_SIZE);
+            appendEntries(centralDirectory, offset, comment, entries, os);
+            os.flush();
+            channel.truncate(channel.position());
+        } catch (Exception e) {
+            throw new RuntimeException("添加zip条目失败: " + zip, e);
+        }
+    }
+
+    /**
+     * 从指定位置读满缓冲区
+     */
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("zip文件不完整");
+            }
+        }
+        buffer.flip();
+    }
+
+    /**
+     * 读取中央目录结束记录
+     *
+     * @return 中央目录长度和位置
+     */
+    private static long[] readEnd(ByteBuffer buffer, int end) throws ZipException {
+        int count = buffer.getShort(end + 10) & 0xFFFF;
+        long size = buffer.getInt(end + 12) & 0xFFFFFFFFL;
+        long offset = buffer.getInt(end + 16) & 0xFFFFFFFFL;
+        if (count == 0xFFFF || size == 0xFFFFFFFFL || offset == 0xFFFFFFFFL) {
+            throw new ZipException("不支持ZIP64格式");
+        }
+        return new long[]{size, offset};
+    }
+
+    /**
+     * 顺序读取没有中央目录的zip数据中的全部条目
+     */
+    private static Map<String, byte[]> readLocalEntries(byte[] zip) throws IOException {
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        try (ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            for (ZipEntry en; (en = zis.getNextEntry()) != null; ) {
+                entries.putIfAbsent(en.getName(), IOUtil.copy(zis, new ByteArrayOutputStream()).toByteArray());
+                zis.closeEntry();
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * 从原中央目录位置开始写入新条目的本地文件头和数据, 然后写入原中央目录、新条目的中央目录记录和结束记录
+     *
+     * @param centralDirectory 原中央目录
+     * @param offset           原中央目录在zip中的位置, 即新条目的写入位置
+     * @param comment          zip注释
+     * @param entries          新条目
+     * @param os               从offset开始写入的输出流
+     */
+    private static void appendEntries(ByteBuffer centralDirectory, long offset, byte[] comment, Map<String, byte[]> entries, OutputStream os) throws IOException {
+        Set<String> names = new HashSet<>();
+        int count = 0;
+        for (int pos = 0; pos < centralDirectory.limit(); count++) {
+            if (pos + ZipReader.CENTRAL_HEADER_SIZE > centralDirectory.limit() || centralDirectory.getInt(pos) != ZipReader.CENTRAL_SIGNATURE) {
+                throw new ZipException("zip中央目录条目无效, 位置: " + (offset + pos));
+            }
+            int nameLength = centralDirectory.getShort(pos + 28) & 0xFFFF;
+            byte[] name = new byte[nameLength];
+            ByteBuffer buf = centralDirectory.duplicate();
+            buf.position(pos + ZipReader.CENTRAL_HEADER_SIZE);
+            buf.get(name);
+            names.add(new String(name, StandardCharsets.UTF_8));
+            pos += ZipReader.CENTRAL_HEADER_SIZE + nameLength + (centralDirectory.getShort(pos + 30) & 0xFFFF) + (centralDirectory.getShort(pos + 32) & 0xFFFF);
+        }
+        // 写入前完成校验, 避免原地追加时覆盖原中央目录后才失败
+        if (entries != null) {
+            for (Entry<String, byte[]> en : entries.entrySet()) {
+                String name = Objects.requireNonNull(en.getKey(), "entry name must be not null");
+                Objects.requireNonNull(en.getValue(), "entry data must be not null: " + name);
+                if (!names.add(name)) {
+                    throw new ZipException("zip条目已存在: " + name);
+                }
+            }
+            if (count + entries.size() >= 0xFFFF) {
+                throw new ZipException("不支持ZIP64格式");
+            }
+        }
+        LocalDateTime now = LocalDateTime.now();
+        int time = now.getHour() << 11 | now.getMinute() << 5 | now.getSecond() >> 1;
+        int date = (now.getYear() - 1980) << 9 | now.getMonthValue() << 5 | now.getDayOfMonth();
+        ByteArrayOutputStream records = new ByteArrayOutputStream();
+        if (entries != null) {
+            for (Entry<String, byte[]> en : entries.entrySet()) {
+                String name = en.getKey();
+                byte[] data = en.getValue();
+                if (offset > 0xFFFFFFFFL) {
+                    throw new ZipException("不支持ZIP64格式");
+                }
+                count++;
+                CRC32 crc = new CRC32();
+                crc.update(data, 0, data.length);
+                byte[] compressed = data;
+                int method = ZipEntry.STORED;
+                if (data.length > 0 && !isCompressed(name)) {
+                    byte[] deflated = deflateBlock(data, 0, data.length, null, 0, 0, true, Deflater.DEFAULT_COMPRESSION).getLeft();
+                    // 压缩后没有变小时直接存储
+                    if (deflated.length < data.length) {
+                        compressed = deflated;
+                        method = ZipEntry.DEFLATED;
+                    }
+                }
+                byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+                ByteBuffer header = ByteBuffer.allocate(ZipReader.CENTRAL_HEADER_SIZE + nameBytes.length).order(ByteOrder.LITTLE_ENDIAN);
+                // 本地文件头
+                header.putInt(ZipReader.LOCAL_SIGNATURE).putShort((short) 20).putShort((short) 0x0800).putShort((short) method)
+                        .putShort((short) time).putShort((short) date).putInt((int) crc.getValue())
+                        .putInt(compressed.length).putInt(data.length).putShort((short) nameBytes.length).putShort((short) 0).put(nameBytes);
+                os.write(header.array(), 0, header.position());
+                os.write(compressed);
+                // 中央目录记录
+                header.clear();
+                header.putInt(ZipReader.CENTRAL_SIGNATURE).putShort((short) 20).putShort((short) 20).putShort((short) 0x0800).putShort((short) method)
+                        .putShort((short) time).putShort((short) date).putInt((int) crc.getValue())
+                        .putInt(compressed.length).putInt(data.length).putShort((short) nameBytes.length)
+                        .putShort((short) 0).putShort((short) 0).putShort((short) 0).putShort((short) 0).putInt(0)
+                        .putInt((int) offset).put(nameBytes);
+                records.write(header.array(), 0, header.position());
+                offset += ZipReader.LOCAL_HEADER_SIZE + nameBytes.length + compressed.length;
+            }
+        }
+        int size = centralDirectory.limit() + records.size();
+        if (offset + size > 0xFFFFFFFFL) {
+            throw new ZipException("不支持ZIP64格式");
+        }
+        os.write(centralDirectory.array(), centralDirectory.arrayOffset(), centralDirectory.limit());
+        records.writeTo(os);
+        ByteBuffer end = ByteBuffer.allocate(ZipReader.END_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        end.putInt(ZipReader.END_SIGNATURE).putShort((short) 0).putShort((short) 0).putShort((short) count).putShort((short) count)
+                .putInt(size).putInt((int) offset).putShort((short) comment.length);
+        os.write(end.array());
+        os.write(comment);
+    }
+
+    /**
+     * 获取zip包中指定条目的文本内容, 名称忽略大小写, 扫描中央目录定位条目, 不建立索引, 没有中央目录时顺序扫描本地文件头<br/>
+     * 同一zip包多次查找时应使用newZipReader创建索引后读取
+     */
     public static String getZipContent(byte[] zipData, String entryName) {
-        if (entryName != null && !"".equals(entryName = entryName.trim())) {
-            try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(zipData))) {
-                for (ZipEntry en; (en = zip.getNextEntry()) != null; ) {
-                    if (entryName.equalsIgnoreCase(en.getName())) {
-                        if (!en.isDirectory()) {
-                            byte[] buffer = new byte[2048];
-                            try (ByteArrayOutputStream os = new ByteArrayOutputStream()) {
-                                for (int len; (len = zip.read(buffer)) != -1; ) {
-                                    os.write(buffer, 0, len);
-                                }
-                                return new String(os.toByteArray());
-                            } catch (Exception e) {
-                                return null;
+        if (entryName != null && !"".equals(entryName = entryName.trim()) && zipData != null) {
+            ZipReader reader;
+            try {
+                reader = new ZipReader(ByteBuffer.wrap(zipData), true, entryName);
+            } catch (Exception e) {
+                return scanZipContent(zipData, entryName);
+            }
+            try {
+                byte[] data = reader.read(entryName);
+                return data == null ? null : new String(data);
+            } catch (Exception e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 顺序扫描本地文件头查找条目
+     */
+    private static String scanZipContent(byte[] zipData, String entryName) {
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(zipData))) {
+            for (ZipEntry en; (en = zip.getNextEntry()) != null; ) {
+                if (entryName.equalsIgnoreCase(en.getName())) {
+                    if (!en.isDirectory()) {
+                        byte[] buffer = new byte[2048];
+                        try (ByteArrayOutputStream os = new ByteArrayOutputStream()) {
+                            for (int len; (len = zip.read(buffer)) != -1; ) {
+                                os.write(buffer, 0, len);
                             }
+                            return new String(os.toByteArray());
+                        } catch (Exception e) {
+                            return null;
                         }
                     }
-                    zip.closeEntry();
                 }
-            } catch (Exception e) {
-                return null;
+                zip.closeEntry();
             }
+        } catch (Exception e) {
+            return null;
         }
         return null;
     }
@@ -1,10 +1,19 @@
 package com.github.jcommon.util.cipher;
 
 import com.github.jcommon.constant.CommonConstant;
+import com.github.jcommon.tuple.ImmutablePair;
+import com.github.jcommon.tuple.Pair;
+import com.github.jcommon.tuple.Triple;
 import com.github.jcommon.util.Base64Util;
+import com.github.jcommon.util.FutureUtil;
+import com.github.jcommon.util.IOUtil;
+import com.github.jcommon.util.MessageDigestUtil;
+import com.github.jcommon.util.RandomUtil;
 import com.github.jcommon.util.StringUtil;
 import org.bouncycastle.asn1.pkcs.PrivateKeyInfo;
 import org.bouncycastle.asn1.x509.SubjectPublicKeyInfo;
+import org.bouncycastle.crypto.InvalidCipherTextException;
+import org.bouncycastle.crypto.modes.GCMBlockCipher;
 import org.bouncycastle.openssl.PEMKeyPair;
 import org.bouncycastle.openssl.PEMParser;
 import org.bouncycastle.openssl.PKCS8Generator;
@@ -21,7 +30,10 @@ import javax.crypto.Cipher;
 import javax.crypto.IllegalBlockSizeException;
 import javax.crypto.NoSuchPaddingException;
 import javax.crypto.ShortBufferException;
+import java.io.DataInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Reader;
 import java.io.StringReader;
 import java.io.StringWriter;
@@ -34,7 +46,19 @@ import java.security.PrivateKey;
 import java.security.PublicKey;
 import java.security.Signature;
 import java.security.SignatureException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
 
 /**
  * 非对称加密算法
@@ -59,23 +83,101 @@ public enum AsymmetricAlgorithm implements EncryptionAlgorithm {
      */
     private final int strength;
     /**
-     * 秘钥生成器
+     * 每个线程持有一个秘钥生成器, 密钥对池未命中时在调用线程上生成, 避免争用同一把锁
      */
-    private final KeyPairGenerator keyPairGenerator;
+    private final ThreadLocal<KeyPairGenerator> keyPairGenerators = ThreadLocal.withInitial(this::newKeyPairGenerator);
+    /**
+     * 每个线程持有一个Cipher对象, 每次使用前使用密钥重新初始化
+     */
+    private final ThreadLocal<Cipher> ciphers = ThreadLocal.withInitial(this::newCipher);
+    /**
+     * 每个线程持有一个Signature对象, 每次使用前使用密钥重新初始化
+     */
+    private final ThreadLocal<Signature> signatures = ThreadLocal.withInitial(this::newSignature);
+    /**
+     * 每个线程持有一个包装数字信封对称密钥的Cipher对象, 使用OAEP填充
+     */
+    private final ThreadLocal<Cipher> wrapCiphers = ThreadLocal.withInitial(this::newWrapCipher);
+    /**
+     * 预生成密钥对池, 未启用时为null
+     */
+    private volatile KeyPairPool keyPairPool;
     private static final JcaPEMKeyConverter KEY_CONVERTER = new JcaPEMKeyConverter().setProvider(PROVIDER);
+    /**
+     * 已解析密钥缓存的最大条目数
+     */
+    private static final int KEY_CACHE_SIZE = 256;
+    /**
+     * 公钥缓存, 以PEM内容为键
+     */
+    private static final KeyCache<String, PublicKey> PUBLIC_KEY_CACHE = new KeyCache<>(KEY_CACHE_SIZE);
+    /**
+     * 密钥对缓存, 以私钥PEM内容和密码摘要为键, 不保存密码明文
+     */
+    private static final KeyCache<Pair<String, String>, KeyPair> KEY_PAIR_CACHE = new KeyCache<>(KEY_CACHE_SIZE);
+    /**
+     * 批量签名验签时每个任务处理的最大条数
+     */
+    private static final int BATCH_TASK_SIZE = 1024;
+    /**
+     * 数字信封格式版本
+     */
+    private static final byte ENVELOPE_VERSION = 1;
+    /**
+     * 数字信封GCM随机数长度
+     */
+    private static final int ENVELOPE_NONCE_SIZE = 12;
+    /**
+     * 数字信封GCM认证标签长度
+     */
+    private static final int ENVELOPE_TAG_SIZE = 16;
+    /**
+     * 数字信封中加密数据使用的对称加密算法
+     */
+    private static final SymmetricAlgorithm ENVELOPE_SYMMETRIC_ALGORITHM = SymmetricAlgorithm.AES;
 
     AsymmetricAlgorithm(String algorithmName, int strength) {
         this.algorithmName = algorithmName;
         this.signatureAlgorithmName = algorithmName;
         this.strength = strength;
+        // 提前创建一次, 算法或密钥长度不可用时立即失败
+        newKeyPairGenerator();
+    }
+
+    private KeyPairGenerator newKeyPairGenerator() {
         try {
-            this.keyPairGenerator = KeyPairGenerator.getInstance(algorithmName, PROVIDER);
-            this.keyPairGenerator.initialize(strength);
+            KeyPairGenerator generator = KeyPairGenerator.getInstance(this.algorithmName, PROVIDER);
+            generator.initialize(this.strength);
+            return generator;
         } catch (Exception e) {
             throw new IllegalArgumentException(e.getMessage(), e);
         }
     }
 
+    private Cipher newCipher() {
+        try {
+            return Cipher.getInstance(this.algorithmName, PROVIDER);
+        } catch (NoSuchAlgorithmException | NoSuchPaddingException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+
+    private Cipher newWrapCipher() {
+        try {
+            return Cipher.getInstance(this.algorithmName + "/NONE/OAEPWithSHA1AndMGF1Padding", PROVIDER);
+        } catch (NoSuchAlgorithmException | NoSuchPaddingException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+
+    private Signature newSignature() {
+        try {
+            return Signature.getInstance(this.signatureAlgorithmName, PROVIDER);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+
     @Override
     public String getAlgorithmName() {
         return algorithmName;
@@ -137,7 +239,7 @@ public enum AsymmetricAlgorithm implements EncryptionAlgorithm {
     private byte[] crypt(boolean isEncrypt, Key key, byte[] data) throws NoSuchPaddingException, NoSuchAlgorithmException, InvalidKeyException, BadPaddingException, IllegalBlockSizeException, IOException, ShortBufferException {
         Objects.requireNonNull(key, "key不能为空!");
         Objects.requireNonNull(data, "data不能为空!");
-        Cipher cipher = Cipher.getInstance(this.algorithmName, PROVIDER);
+        Cipher cipher = ciphers.get();
         cipher.init(isEncrypt ? Cipher.ENCRYPT_MODE : Cipher.DECRYPT_MODE, key);
         return cipher.doFinal(data);
     }
@@ -192,16 +294,196 @@ public enum AsymmetricAlgorithm implements EncryptionAlgorithm {
         return byDecrypt(parsePublicKey(publicKey), data);
     }
 
+    /**
+     * 数字信封加密, 使用随机对称密钥认证加密(AES-GCM)数据, 只使用公钥加密对称密钥, 适用于超过单个分组的大数据
+     * 格式: 版本(1) + 加密密钥长度(2) + 加密密钥 + 随机数(12) + 密文 + 认证标签(16), 版本到随机数的头部作为附加认证数据
+     *
+     * @param publicKey 公钥
+     * @param data      明文
+     * @return 数字信封
+     */
+    public byte[] encryptEnvelope(String publicKey, byte[] data) {
+        Objects.requireNonNull(data, "data不能为空!");
+        byte[] key = newEnvelopeKey();
+        byte[] header = envelopeHeader(parsePublicKey(publicKey), key);
+        GCMBlockCipher cipher = newEnvelopeCipher(true, key, header);
+        byte[] result = new byte[header.length + cipher.getOutputSize(data.length)];
+        System.arraycopy(header, 0, result, 0, header.length);
+        try {
+            int len = cipher.processBytes(data, 0, data.length, result, header.length);
+            cipher.doFinal(result, header.length + len);
+        } catch (InvalidCipherTextException e) {
+            throw new RuntimeException("加密失败: ", e);
+        }
+        return result;
+    }
+
+    /**
+     * 数字信封解密, 使用私钥解密对称密钥后解密数据, 数据被篡改时认证失败
+     *
+     * @param privateKey 私钥
+     * @param password   私钥密码
+     * @param envelope   数字信封
+     * @return 明文
+     */
+    public byte[] decryptEnvelope(String privateKey, String password, byte[] envelope) {
+        Objects.requireNonNull(envelope, "envelope不能为空!");
+        if (envelope.length < 3 || envelope[0] != ENVELOPE_VERSION) {
+            throw new IllegalArgumentException("非数字信封数据!");
+        }
+        int wrappedLength = (envelope[1] & 0xFF) << 8 | envelope[2] & 0xFF;
+        int off = 3 + wrappedLength + ENVELOPE_NONCE_SIZE;
+        if (envelope.length < off + ENVELOPE_TAG_SIZE) {
+            throw new IllegalArgumentException("数字信封数据不完整!");
+        }
+        byte[] header = Arrays.copyOf(envelope, off);
+        byte[] key = unwrapEnvelopeKey(privateKey, password, Arrays.copyOfRange(header, 3, 3 + wrappedLength));
+        GCMBlockCipher cipher = newEnvelopeCipher(false, key, header);
+        byte[] result = new byte[cipher.getOutputSize(envelope.length - off)];
+        try {
+            int len = cipher.processBytes(envelope, off, envelope.length - off, result, 0);
+            cipher.doFinal(result, len);
+        } catch (InvalidCipherTextException e) {
+            throw new IllegalStateException("数字信封认证失败!", e);
+        }
+        return result;
+    }
+
+    /**
+     * 数字信封加密, 流式加密数据, 不关闭流
+     *
+     * @param publicKey 公钥
+     * @param is        明文输入流
+     * @param os        数字信封输出流
+     */
+    public void encryptEnvelope(String publicKey, InputStream is, OutputStream os) {
+        Objects.requireNonNull(is, "is不能为空!");
+        Objects.requireNonNull(os, "os不能为空!");
+        byte[] key = newEnvelopeKey();
+        byte[] header = envelopeHeader(parsePublicKey(publicKey), key);
+        try {
+            os.write(header);
+            cryptEnvelope(newEnvelopeCipher(true, key, header), is, os);
+        } catch (IOException | InvalidCipherTextException e) {
+            throw new RuntimeException("加密失败: ", e);
+        }
+    }
+
+    /**
+     * 数字信封解密, 流式解密数据, 不关闭流<br/>
+     * 认证标签在结尾校验, 认证失败抛出异常时已写入输出流的明文不可信, 调用方应丢弃
+     *
+     * @param privateKey 私钥
+     * @param password   私钥密码
+     * @param is         数字信封输入流
+     * @param os         明文输出流
+     */
+    public void decryptEnvelope(String privateKey, String password, InputStream is, OutputStream os) {
+        Objects.requireNonNull(is, "is不能为空!");
+        Objects.requireNonNull(os, "os不能为空!");
+        byte[] header;
+        try {
+            DataInputStream in = new DataInputStream(is);
+            if (in.readByte() != ENVELOPE_VERSION) {
+                throw new IllegalArgumentException("非数字信封数据!");
+            }
+            int wrappedLength = in.readUnsignedShort();
+            header = new byte[3 + wrappedLength + ENVELOPE_NONCE_SIZE];
+            header[0] = ENVELOPE_VERSION;
+            header[1] = (byte) (wrappedLength >>> 8);
+            header[2] = (byte) wrappedLength;
+            in.readFully(header, 3, wrappedLength + ENVELOPE_NONCE_SIZE);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("数字信封数据不完整!", e);
+        }
+        byte[] key = unwrapEnvelopeKey(privateKey, password, Arrays.copyOfRange(header, 3, header.length - ENVELOPE_NONCE_SIZE));
+        try {
+            cryptEnvelope(newEnvelopeCipher(false, key, header), is, os);
+        } catch (InvalidCipherTextException e) {
+            throw new IllegalStateException("数字信封认证失败!", e);
+        } catch (IOException e) {
+            throw new RuntimeException("解密失败: ", e);
+        }
+    }
+
+    /**
+     * 使用固定大小的缓冲区分段加解密, 不关闭流
+     */
+    private static void cryptEnvelope(GCMBlockCipher cipher, InputStream is, OutputStream os) throws IOException, InvalidCipherTextException {
+        byte[] in = new byte[IOUtil.BUFFER_SIZE];
+        // 足够容纳分段输出以及结尾的缓存数据和认证标签
+        byte[] out = new byte[in.length + ENVELOPE_SYMMETRIC_ALGORITHM.getBlockSize() + ENVELOPE_TAG_SIZE];
+        for (int len; (len = is.read(in)) != -1; ) {
+            os.write(out, 0, cipher.processBytes(in, 0, len, out, 0));
+        }
+        os.write(out, 0, cipher.doFinal(out, 0));
+        os.flush();
+    }
+
+    /**
+     * 生成随机对称密钥
+     */
+    private static byte[] newEnvelopeKey() {
+        byte[] key = new byte[ENVELOPE_SYMMETRIC_ALGORITHM.getStrength() >>> 3];
+        RandomUtil.getDefaultSecureRandom().nextBytes(key);
+        return key;
+    }
+
+    /**
+     * 创建数字信封的GCM加解密对象, 随机数为头部结尾, 整个头部作为附加认证数据
+     */
+    private static GCMBlockCipher newEnvelopeCipher(boolean forEncryption, byte[] key, byte[] header) {
+        byte[] nonce = Arrays.copyOfRange(header, header.length - ENVELOPE_NONCE_SIZE, header.length);
+        return ENVELOPE_SYMMETRIC_ALGORITHM.newGcmCipher(forEncryption, key, nonce, header);
+    }
+
+    /**
+     * 生成数字信封头部: 版本(1) + 加密密钥长度(2) + 加密密钥 + 随机数
+     */
+    private byte[] envelopeHeader(PublicKey publicKey, byte[] key) {
+        byte[] wrapped;
+        try {
+            Cipher cipher = wrapCiphers.get();
+            cipher.init(Cipher.ENCRYPT_MODE, publicKey);
+            wrapped = cipher.doFinal(key);
+        } catch (Exception e) {
+            throw new RuntimeException("加密失败: ", e);
+        }
+        byte[] header = new byte[3 + wrapped.length + ENVELOPE_NONCE_SIZE];
+        header[0] = ENVELOPE_VERSION;
+        header[1] = (byte) (wrapped.length >>> 8);
+        header[2] = (byte) wrapped.length;
+        System.arraycopy(wrapped, 0, header, 3, wrapped.length);
+        byte[] nonce = new byte[ENVELOPE_NONCE_SIZE];
+        RandomUtil.getDefaultSecureRandom().nextBytes(nonce);
+        System.arraycopy(nonce, 0, header, 3 + wrapped.length, nonce.length);
+        return header;
+    }
+
+    /**
+     * 使用私钥解密对称密钥
+     */
+    private byte[] unwrapEnvelopeKey(String privateKey, String password, byte[] wrapped) {
+        PrivateKey key = parseKeyPair(privateKey, password).getPrivate();
+        try {
+            Cipher cipher = wrapCiphers.get();
+            cipher.init(Cipher.DECRYPT_MODE, key);
+            return cipher.doFinal(wrapped);
+        } catch (Exception e) {
+            throw new RuntimeException("解密失败: ", e);
+        }
+    }
+
     /**
      * 签名
      */
     public String sign(String privateKey, String password, String data) {
         try {
-            Signature signature = Signature.getInstance(this.algorithmName, PROVIDER);
+            Signature signature = signatures.get();
             signature.initSign(parseKeyPair(privateKey, password).getPrivate());
             signature.update(data.getBytes(CommonConstant.UTF8_CHARSET));
             return new String(signature.sign());
-        } catch (NoSuchAlgorithmException | InvalidKeyException | SignatureException e) {
+        } catch (InvalidKeyException | SignatureException e) {
             throw new IllegalArgumentException(e.getMessage(), e);
         }
     }
@@ -211,15 +493,175 @@ public enum AsymmetricAlgorithm implements EncryptionAlgorithm {
      */
     public boolean verify(String publicKey, String sign, String data) {
         try {
-            Signature signature = Signature.getInstance(this.algorithmName, PROVIDER);
+            Signature signature = signatures.get();
             signature.initVerify(parsePublicKey(publicKey));
             signature.update(data.getBytes(CommonConstant.UTF8_CHARSET));
             return signature.verify(sign.getBytes(CommonConstant.UTF8_CHARSET));
-        } catch (NoSuchAlgorithmException | InvalidKeyException | SignatureException e) {
+        } catch (InvalidKeyException | SignatureException e) {
             throw new IllegalArgumentException(e.getMessage(), e);
         }
     }
 
+    /**
+     * 批量签名, 在ForkJoinPool.commonPool()中执行
+     *
+     * @param items (私钥, 私钥密码, 数据)集合
+     * @return 与集合顺序一致的Base64编码签名数组, 签名失败的位置为null
+     */
+    public String[] sign(Collection<? extends Triple<String, String, String>> items) {
+        return sign(items, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 批量签名, 按私钥分组, 每个私钥只解析一次, 单条失败不影响其他数据
+     *
+     * @param items    (私钥, 私钥密码, 数据)集合
+     * @param executor 执行签名的线程池
+     * @return 与集合顺序一致的Base64编码签名数组, 签名失败的位置为null
+     */
+    public String[] sign(Collection<? extends Triple<String, String, String>> items, Executor executor) {
+        List<? extends Triple<String, String, String>> list = toList(items);
+        Objects.requireNonNull(executor, "executor不能为空!");
+        String[] result = new String[list.size()];
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        Map<Pair<String, String>, List<Integer>> groups = groupBy(list, item -> ImmutablePair.of(item.getLeft(), item.getMiddle()));
+        for (Map.Entry<Pair<String, String>, List<Integer>> group : groups.entrySet()) {
+            Pair<String, String> key = group.getKey();
+            for (List<Integer> indexes : partition(group.getValue())) {
+                futures.add(CompletableFuture.runAsync(() -> signBatch(key.getLeft(), key.getRight(), list, indexes, result), executor));
+            }
+        }
+        futures.forEach(FutureUtil::getUnchecked);
+        return result;
+    }
+
+    /**
+     * 批量验签, 在ForkJoinPool.commonPool()中执行
+     *
+     * @param items (公钥, Base64编码签名, 数据)集合
+     * @return 验签结果, 与集合顺序一致的位为true表示验签通过
+     */
+    public BitSet verify(Collection<? extends Triple<String, String, String>> items) {
+        return verify(items, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 批量验签, 按公钥分组, 每个公钥只解析一次, 单条失败(包括公钥或签名格式错误)只将对应位置为false, 不抛出异常
+     *
+     * @param items    (公钥, Base64编码签名, 数据)集合, 签名为批量签名返回的格式
+     * @param executor 执行验签的线程池
+     * @return 验签结果, 与集合顺序一致的位为true表示验签通过
+     */
+    public BitSet verify(Collection<? extends Triple<String, String, String>> items, Executor executor) {
+        List<? extends Triple<String, String, String>> list = toList(items);
+        Objects.requireNonNull(executor, "executor不能为空!");
+        List<CompletableFuture<BitSet>> futures = new ArrayList<>();
+        Map<String, List<Integer>> groups = groupBy(list, Triple::getLeft);
+        for (Map.Entry<String, List<Integer>> group : groups.entrySet()) {
+            String publicKey = group.getKey();
+            for (List<Integer> indexes : partition(group.getValue())) {
+                futures.add(CompletableFuture.supplyAsync(() -> verifyBatch(publicKey, list, indexes), executor));
+            }
+        }
+        BitSet result = new BitSet(list.size());
+        for (CompletableFuture<BitSet> future : futures) {
+            result.or(FutureUtil.getUnchecked(future));
+        }
+        return result;
+    }
+
+    /**
+     * 使用同一私钥签名多条数据
+     */
+    private void signBatch(String privateKey, String password, List<? extends Triple<String, String, String>> items, List<Integer> indexes, String[] result) {
+        Signature signature = signatures.get();
+        try {
+            signature.initSign(parseKeyPair(privateKey, password).getPrivate());
+        } catch (Exception e) {
+            // 私钥错误, 本组全部失败
+            return;
+        }
+        for (int index : indexes) {
+            try {
+                signature.update(items.get(index).getRight().getBytes(CommonConstant.UTF8_CHARSET));
+                result[index] = Base64Util.encodeAsString(signature.sign());
+            } catch (Exception e) {
+                // sign后签名对象恢复到initSign后的状态
+            }
+        }
+    }
+
+    /**
+     * 使用同一公钥验签多条数据
+     */
+    private BitSet verifyBatch(String publicKey, List<? extends Triple<String, String, String>> items, List<Integer> indexes) {
+        BitSet result = new BitSet();
+        Signature signature = signatures.get();
+        PublicKey key;
+        try {
+            key = parsePublicKey(publicKey);
+            signature.initVerify(key);
+        } catch (Exception e) {
+            // 公钥错误, 本组全部失败
+            return result;
+        }
+        for (int index : indexes) {
+            Triple<String, String, String> item = items.get(index);
+            try {
+                signature.update(item.getRight().getBytes(CommonConstant.UTF8_CHARSET));
+                if (signature.verify(Base64Util.decodeAsByteArray(item.getMiddle()))) {
+                    result.set(index);
+                }
+            } catch (Exception e) {
+                // 签名格式错误等异常后重新初始化, 避免残留数据影响后续验签
+                try {
+                    signature.initVerify(key);
+                } catch (InvalidKeyException ex) {
+                    return result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 转换为支持随机访问的集合
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> toList(Collection<T> items) {
+        Objects.requireNonNull(items, "items不能为空!");
+        if (items instanceof List && items instanceof RandomAccess) {
+            return (List<T>) items;
+        }
+        return new ArrayList<>(items);
+    }
+
+    /**
+     * 按密钥分组, 记录每组数据的索引, 空条目或空数据直接忽略
+     */
+    private static <K> Map<K, List<Integer>> groupBy(List<? extends Triple<String, String, String>> items, Function<Triple<String, String, String>, K> keyMapper) {
+        Map<K, List<Integer>> groups = new LinkedHashMap<>();
+        for (int index = 0, size = items.size(); index < size; index++) {
+            Triple<String, String, String> item = items.get(index);
+            if (item == null || item.getLeft() == null || item.getRight() == null) {
+                continue;
+            }
+            groups.computeIfAbsent(keyMapper.apply(item), k -> new ArrayList<>()).add(index);
+        }
+        return groups;
+    }
+
+    /**
+     * 将索引按任务大小拆分
+     */
+    private static List<List<Integer>> partition(List<Integer> indexes) {
+        List<List<Integer>> parts = new ArrayList<>();
+        for (int from = 0, size = indexes.size(); from < size; from += BATCH_TASK_SIZE) {
+            parts.add(indexes.subList(from, Math.min(from + BATCH_TASK_SIZE, size)));
+        }
+        return parts;
+    }
+
     /**
      * 生成未加密的私钥
      */
@@ -232,7 +674,7 @@ public enum AsymmetricAlgorithm implements EncryptionAlgorithm {
      */
     public String generatePrivateKey(String password) {
         try {
-            KeyPair keyPair = keyPairGenerator.generateKeyPair();
+            KeyPair keyPair = nextKeyPair();
             PrivateKey privateKey = keyPair.getPrivate();
             return convert(privateKey, password);
         } catch (Exception e) {
@@ -240,6 +682,68 @@ public enum AsymmetricAlgorithm implements EncryptionAlgorithm {
         }
     }
 
+    /**
+     * 获取密钥对, 优先从预生成密钥对池获取, 池为空或未启用时使用当前线程的秘钥生成器生成
+     */
+    private KeyPair nextKeyPair() {
+        KeyPairPool pool = this.keyPairPool;
+        if (pool != null) {
+            KeyPair keyPair = pool.poll();
+            if (keyPair != null) {
+                return keyPair;
+            }
+        }
+        return keyPairGenerators.get().generateKeyPair();
+    }
+
+    /**
+     * 启用预生成密钥对池, 在低优先级后台线程中生成密钥对直到池中数量达到水位线, 重复调用会替换原有的池
+     *
+     * @param watermark 水位线
+     */
+    public synchronized void enableKeyPairPool(int watermark) {
+        KeyPairPool old = this.keyPairPool;
+        this.keyPairPool = new KeyPairPool(this.algorithmName, this.strength, watermark);
+        if (old != null) {
+            old.close();
+        }
+    }
+
+    /**
+     * 停用预生成密钥对池, 停止后台线程并丢弃已生成的密钥对
+     */
+    public synchronized void disableKeyPairPool() {
+        KeyPairPool old = this.keyPairPool;
+        this.keyPairPool = null;
+        if (old != null) {
+            old.close();
+        }
+    }
+
+    /**
+     * 预生成密钥对池中当前的密钥对数量
+     */
+    public int getKeyPairPoolSize() {
+        KeyPairPool pool = this.keyPairPool;
+        return pool == null ? 0 : pool.size();
+    }
+
+    /**
+     * 从预生成密钥对池获取到密钥对的次数
+     */
+    public long getKeyPairPoolHitCount() {
+        KeyPairPool pool = this.keyPairPool;
+        return pool == null ? 0 : pool.getHitCount();
+    }
+
+    /**
+     * 预生成密钥对池为空而同步生成密钥对的次数
+     */
+    public long getKeyPairPoolMissCount() {
+        KeyPairPool pool = this.keyPairPool;
+        return pool == null ? 0 : pool.getMissCount();
+    }
+
     /**
      * 将密钥信息转换为字符串，可对私钥进行加密
      */
@@ -279,9 +783,18 @@ public enum AsymmetricAlgorithm implements EncryptionAlgorithm {
     }
 
     /**
-     * 将私钥字符串转换为秘钥对
+     * 将私钥字符串转换为秘钥对, 优先从缓存获取
      */
     private KeyPair parseKeyPair(String privateKey, String password) {
+        Objects.requireNonNull(privateKey, "privateKey不能为空!");
+        String passwordHash = StringUtil.isBlank(password) ? CommonConstant.STRING_EMPTY : MessageDigestUtil.sha512(password);
+        return KEY_PAIR_CACHE.get(ImmutablePair.of(privateKey, passwordHash), key -> loadKeyPair(privateKey, password));
+    }
+
+    /**
+     * 解析私钥字符串为秘钥对
+     */
+    private KeyPair loadKeyPair(String privateKey, String password) {
         Object obj = parseKey(new StringReader(privateKey));
         Objects.requireNonNull(obj, "没有加载到私钥信息!");
         try {
@@ -319,9 +832,17 @@ public enum AsymmetricAlgorithm implements EncryptionAlgorithm {
     }
 
     /**
-     * 将公钥字符串转换为公钥对象
+     * 将公钥字符串转换为公钥对象, 优先从缓存获取
      */
     public static PublicKey parsePublicKey(String publicKey) {
+        Objects.requireNonNull(publicKey, "publicKey不能为空!");
+        return PUBLIC_KEY_CACHE.get(publicKey, AsymmetricAlgorithm::loadPublicKey);
+    }
+
+    /**
+     * 解析公钥字符串为公钥对象
+     */
+    private static PublicKey loadPublicKey(String publicKey) {
         try {
             Object obj = parseKey(new StringReader(publicKey));
             Objects.requireNonNull(obj, "没有加载到公钥信息!");
@@ -336,6 +857,42 @@ public enum AsymmetricAlgorithm implements EncryptionAlgorithm {
         }
     }
 
+    /**
+     * 已解析密钥缓存命中次数
+     */
+    public static long getKeyCacheHitCount() {
+        return PUBLIC_KEY_CACHE.getHitCount() + KEY_PAIR_CACHE.getHitCount();
+    }
+
+    /**
+     * 已解析密钥缓存未命中(解析密钥)次数
+     */
+    public static long getKeyCacheMissCount() {
+        return PUBLIC_KEY_CACHE.getMissCount() + KEY_PAIR_CACHE.getMissCount();
+    }
+
+    /**
+     * 已解析密钥缓存淘汰次数
+     */
+    public static long getKeyCacheEvictionCount() {
+        return PUBLIC_KEY_CACHE.getEvictionCount() + KEY_PAIR_CACHE.getEvictionCount();
+    }
+
+    /**
+     * 已解析密钥缓存当前条目数
+     */
+    public static int getKeyCacheSize() {
+        return PUBLIC_KEY_CACHE.size() + KEY_PAIR_CACHE.size();
+    }
+
+    /**
+     * 清空已解析密钥缓存
+     */
+    public static void clearKeyCache() {
+        PUBLIC_KEY_CACHE.clear();
+        KEY_PAIR_CACHE.clear();
+    }
+
     /**
      * 解析字符流中的密钥信息
      */
@@ -0,0 +1,99 @@
+package com.github.jcommon.util.cipher;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 有界密钥缓存, 多线程安全, 超出容量时按写入顺序淘汰最早的条目
+ *
+ * @author shijian
+ * @email shijianws@163.com
+ * @date 2026-10-17
+ */
+final class KeyCache<K, V> {
+    /**
+     * 最大条目数
+     */
+    private final int maxSize;
+    private final Map<K, V> cache = new ConcurrentHashMap<>();
+    /**
+     * 写入顺序, 用于淘汰
+     */
+    private final Queue<K> order = new ConcurrentLinkedQueue<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    KeyCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize必须大于0!");
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * 获取缓存, 不存在时通过函数加载并放入缓存, 加载失败不缓存
+     */
+    V get(K key, Function<? super K, ? extends V> loader) {
+        Objects.requireNonNull(key, "key不能为空!");
+        V value = cache.get(key);
+        if (value != null) {
+            hits.increment();
+            return value;
+        }
+        boolean[] loaded = {false};
+        value = cache.computeIfAbsent(key, k -> {
+            loaded[0] = true;
+            return loader.apply(k);
+        });
+        if (loaded[0]) {
+            misses.increment();
+            order.offer(key);
+            evict();
+        } else {
+            hits.increment();
+        }
+        return value;
+    }
+
+    /**
+     * 淘汰超出容量的最早条目
+     */
+    private void evict() {
+        while (cache.size() > maxSize) {
+            K eldest = order.poll();
+            if (eldest == null) {
+                return;
+            }
+            if (cache.remove(eldest) != null) {
+                evictions.increment();
+            }
+        }
+    }
+
+    long getHitCount() {
+        return hits.sum();
+    }
+
+    long getMissCount() {
+        return misses.sum();
+    }
+
+    long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    int size() {
+        return cache.size();
+    }
+
+    void clear() {
+        cache.clear();
+        order.clear();
+    }
+}
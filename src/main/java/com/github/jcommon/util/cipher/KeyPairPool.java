@@ -0,0 +1,122 @@
+package com.github.jcommon.util.cipher;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 预生成密钥对池, 在低优先级后台线程中补充密钥对到水位线
+ *
+ * @author shijian
+ * @email shijianws@163.com
+ * @date 2026-10-17
+ */
+final class KeyPairPool {
+    /**
+     * 后台线程专用的密钥对生成器, 不与同步生成共用
+     */
+    private final KeyPairGenerator generator;
+    /**
+     * 水位线, 池中密钥对数量低于该值时后台补充
+     */
+    private final int watermark;
+    private final BlockingQueue<KeyPair> pool;
+    private final ExecutorService executor;
+    /**
+     * 是否正在补充, 保证同一时间只有一个补充任务
+     */
+    private final AtomicBoolean filling = new AtomicBoolean(false);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private volatile boolean closed;
+
+    KeyPairPool(String algorithmName, int strength, int watermark) {
+        if (watermark <= 0) {
+            throw new IllegalArgumentException("watermark必须大于0!");
+        }
+        try {
+            this.generator = KeyPairGenerator.getInstance(algorithmName, EncryptionAlgorithm.PROVIDER);
+            this.generator.initialize(strength);
+        } catch (Exception e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+        this.watermark = watermark;
+        this.pool = new ArrayBlockingQueue<>(watermark);
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "key-pair-pool-" + algorithmName);
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        fill();
+    }
+
+    /**
+     * 获取预生成的密钥对, 池为空时返回null
+     */
+    KeyPair poll() {
+        KeyPair keyPair = pool.poll();
+        if (keyPair == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        fill();
+        return keyPair;
+    }
+
+    /**
+     * 低于水位线时提交补充任务
+     */
+    private void fill() {
+        if (!closed && pool.size() < watermark && filling.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::run);
+            } catch (RejectedExecutionException e) {
+                filling.set(false);
+            }
+        }
+    }
+
+    /**
+     * 补充到水位线, 重置补充标记后再次检查, 避免重置前被取走的密钥对因标记未重置而得不到补充
+     */
+    private void run() {
+        do {
+            try {
+                while (!closed && pool.size() < watermark) {
+                    pool.offer(generator.generateKeyPair());
+                }
+            } finally {
+                filling.set(false);
+            }
+        } while (!closed && pool.size() < watermark && filling.compareAndSet(false, true));
+    }
+
+    int size() {
+        return pool.size();
+    }
+
+    long getHitCount() {
+        return hits.sum();
+    }
+
+    long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * 关闭后台线程并丢弃池中的密钥对
+     */
+    void close() {
+        closed = true;
+        executor.shutdownNow();
+        pool.clear();
+    }
+}
@@ -1,19 +1,38 @@
 package com.github.jcommon.util.cipher;
 
 import com.github.jcommon.constant.CommonConstant;
+import com.github.jcommon.util.IOUtil;
+import com.github.jcommon.util.RandomUtil;
 import org.bouncycastle.crypto.BlockCipher;
 import org.bouncycastle.crypto.BufferedBlockCipher;
 import org.bouncycastle.crypto.DataLengthException;
 import org.bouncycastle.crypto.InvalidCipherTextException;
+import org.bouncycastle.crypto.digests.SHA256Digest;
 import org.bouncycastle.crypto.engines.AESEngine;
+import org.bouncycastle.crypto.generators.HKDFBytesGenerator;
+import org.bouncycastle.crypto.io.CipherInputStream;
+import org.bouncycastle.crypto.io.CipherOutputStream;
 import org.bouncycastle.crypto.modes.CBCBlockCipher;
+import org.bouncycastle.crypto.modes.GCMBlockCipher;
 import org.bouncycastle.crypto.paddings.PaddedBufferedBlockCipher;
+import org.bouncycastle.crypto.params.AEADParameters;
+import org.bouncycastle.crypto.params.HKDFParameters;
 import org.bouncycastle.crypto.params.KeyParameter;
 import org.bouncycastle.crypto.params.ParametersWithIV;
 import org.bouncycastle.util.encoders.Hex;
 
 import javax.crypto.KeyGenerator;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.security.MessageDigest;
+import java.util.Arrays;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
 /**
  * 对称加密散发
@@ -28,6 +47,31 @@ public enum SymmetricAlgorithm implements EncryptionAlgorithm {
      */
     AES("AES", 128);
 
+    /**
+     * 分段加密默认分段大小
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+    /**
+     * 分段加密格式版本
+     */
+    private static final byte CHUNKED_VERSION = 1;
+    /**
+     * 分段加密头部: 版本(1) + 分段大小(4) + 明文长度(8) + 盐(16) + 随机数前缀(8)
+     */
+    private static final int CHUNKED_HEADER_SIZE = 37;
+    /**
+     * 分段加密盐长度, 每条消息使用HKDF-SHA256(密钥, 盐)派生独立的子密钥, 随机数只需在单条消息内不重复
+     */
+    private static final int CHUNKED_SALT_SIZE = 16;
+    /**
+     * 分段加密随机数前缀长度, 与分段索引(4)组成12字节GCM随机数
+     */
+    private static final int CHUNKED_NONCE_PREFIX_SIZE = 8;
+    /**
+     * 每个分段的认证标签长度
+     */
+    private static final int CHUNKED_TAG_SIZE = 16;
+
     /**
      * 算法名称
      */
@@ -41,9 +85,17 @@ public enum SymmetricAlgorithm implements EncryptionAlgorithm {
      */
     private final KeyGenerator keyGenerator;
     /**
-     * CBC模式
+     * 算法引擎工厂
+     */
+    private final Supplier<BlockCipher> engineFactory;
+    /**
+     * 每个线程持有一个加解密引擎, 避免每次操作创建引擎对象
+     */
+    private final ThreadLocal<CipherEngine> engines = ThreadLocal.withInitial(this::newEngine);
+    /**
+     * 分组大小
      */
-    private final CBCBlockCipher cbcCipher;
+    private final int blockSize;
     /**
      * 默认初始向量
      */
@@ -59,18 +111,69 @@ public enum SymmetricAlgorithm implements EncryptionAlgorithm {
             throw new RuntimeException("KeyGenerator init error: ", e);
         }
 
-        // 算法引擎
-        BlockCipher engine;
         // org.bouncycastle.jcajce.provider.symmetric.AES
         if ("AES".equalsIgnoreCase(algorithmName)) {
             // 快速AES引擎
-            engine = new AESEngine();
+            this.engineFactory = AESEngine::new;
         } else {
             throw new RuntimeException("not support " + algorithmName + " algorithm");
         }
 
-        this.cbcCipher = new CBCBlockCipher(engine);
-        this.defaultIv = new byte[cbcCipher.getBlockSize()];
+        this.blockSize = this.engineFactory.get().getBlockSize();
+        this.defaultIv = new byte[blockSize];
+    }
+
+    /**
+     * 线程内复用的加解密引擎, 记录上次使用的密钥, 密钥与加解密方向不变时只重置初始向量
+     */
+    private static final class CipherEngine {
+        private final BufferedBlockCipher cipher;
+        private byte[] key;
+        private boolean forEncryption;
+        /**
+         * 处理直接缓冲区时复用的输入输出数组
+         */
+        private byte[] in;
+        private byte[] out;
+
+        CipherEngine(BufferedBlockCipher cipher) {
+            this.cipher = cipher;
+        }
+
+        BufferedBlockCipher init(boolean forEncryption, byte[] key, byte[] iv) {
+            if (this.key != null && this.forEncryption == forEncryption && MessageDigest.isEqual(this.key, key)) {
+                // 密钥未变化, 无需重新计算密钥扩展
+                cipher.init(forEncryption, new ParametersWithIV(null, iv));
+                return cipher;
+            }
+            this.key = null;
+            cipher.init(forEncryption, new ParametersWithIV(new KeyParameter(key), iv));
+            this.key = key.clone();
+            this.forEncryption = forEncryption;
+            return cipher;
+        }
+
+        void invalidate() {
+            this.key = null;
+        }
+
+        byte[] in() {
+            if (in == null) {
+                in = new byte[IOUtil.BUFFER_SIZE];
+            }
+            return in;
+        }
+
+        byte[] out() {
+            if (out == null) {
+                out = new byte[cipher.getOutputSize(IOUtil.BUFFER_SIZE)];
+            }
+            return out;
+        }
+    }
+
+    private CipherEngine newEngine() {
+        return new CipherEngine(new PaddedBufferedBlockCipher(new CBCBlockCipher(engineFactory.get())));
     }
 
     @Override
@@ -86,6 +189,13 @@ public enum SymmetricAlgorithm implements EncryptionAlgorithm {
         return strength;
     }
 
+    /**
+     * 分组大小, 即初始向量长度
+     */
+    public int getBlockSize() {
+        return blockSize;
+    }
+
     /**
      * 生成密钥
      */
@@ -103,24 +213,181 @@ public enum SymmetricAlgorithm implements EncryptionAlgorithm {
      * @return
      */
     private byte[] operate(boolean forEncryption, byte[] key, byte[] iv, byte[] data) throws DataLengthException, IllegalStateException, InvalidCipherTextException {
+        Objects.requireNonNull(data, "data不能为空!");
+        // 生成缓冲区
+        byte[] buf = new byte[forEncryption ? getEncryptOutputSize(data.length) : data.length];
+        int len = operate(forEncryption, key, iv, data, 0, data.length, buf, 0);
+        // 加密时缓冲区大小与结果一致, 无需拷贝
+        return len == buf.length ? buf : Arrays.copyOf(buf, len);
+    }
+
+    /**
+     * 数据操作, 结果写入目标数组
+     *
+     * @param forEncryption 是否加密
+     * @param key           密钥
+     * @param iv            初始向量
+     * @param data          数据
+     * @param off           数据起始位置
+     * @param len           数据长度
+     * @param out           目标数组
+     * @param outOff        目标数组起始位置
+     * @return 写入目标数组的长度
+     */
+    private int operate(boolean forEncryption, byte[] key, byte[] iv, byte[] data, int off, int len, byte[] out, int outOff) throws DataLengthException, IllegalStateException, InvalidCipherTextException {
         Objects.requireNonNull(key, "key不能为空!");
         Objects.requireNonNull(data, "data不能为空!");
+        Objects.requireNonNull(out, "out不能为空!");
         if (iv == null) {
             // 未设置初始向量, 使用默认数组
             iv = defaultIv;
         }
-        BufferedBlockCipher cipher = new PaddedBufferedBlockCipher(this.cbcCipher);
-        // 加密或解密初始化
-        cipher.init(forEncryption, new ParametersWithIV(new KeyParameter(key), iv));
-        // 生成缓冲区
-        byte[] buf = new byte[cipher.getOutputSize(data.length)];
-        // 处理数据, 写入缓冲区
-        int processLen = cipher.processBytes(data, 0, data.length, buf, 0);
-        int finalLen = cipher.doFinal(buf, processLen);
-        byte[] result = new byte[processLen + finalLen];
-        // 将缓冲区数据拷贝到数组
-        System.arraycopy(buf, 0, result, 0, result.length);
-        return result;
+        CipherEngine engine = engines.get();
+        try {
+            // 加密或解密初始化
+            BufferedBlockCipher cipher = engine.init(forEncryption, key, iv);
+            // 处理数据, 写入目标数组
+            int processLen = cipher.processBytes(data, off, len, out, outOff);
+            return processLen + cipher.doFinal(out, outOff + processLen);
+        } catch (RuntimeException | InvalidCipherTextException e) {
+            // 异常后引擎状态未知, 下次使用时重新初始化
+            engine.invalidate();
+            throw e;
+        }
+    }
+
+    /**
+     * 缓冲区数据操作, 处理源缓冲区position到limit之间的数据, 写入目标缓冲区position开始的位置,
+     * 成功后源缓冲区position移动到limit, 目标缓冲区position后移写入的长度, 失败时两个缓冲区position不变
+     *
+     * @param forEncryption 是否加密
+     * @param key           密钥
+     * @param iv            初始向量
+     * @param src           源缓冲区
+     * @param dst           目标缓冲区
+     * @return 写入目标缓冲区的长度
+     */
+    private int operate(boolean forEncryption, byte[] key, byte[] iv, ByteBuffer src, ByteBuffer dst) throws DataLengthException, IllegalStateException, InvalidCipherTextException {
+        Objects.requireNonNull(key, "key不能为空!");
+        Objects.requireNonNull(src, "src不能为空!");
+        Objects.requireNonNull(dst, "dst不能为空!");
+        if (forEncryption && dst.remaining() < getEncryptOutputSize(src.remaining())) {
+            throw new IllegalArgumentException("dst剩余空间不足, 需要: " + getEncryptOutputSize(src.remaining()) + ", 剩余: " + dst.remaining());
+        }
+        if (src.hasArray() && dst.hasArray() && dst.remaining() >= src.remaining()) {
+            // 堆缓冲区直接处理底层数组, 解密结果不会超过密文长度
+            int len = operate(forEncryption, key, iv, src.array(), src.arrayOffset() + src.position(), src.remaining(),
+                    dst.array(), dst.arrayOffset() + dst.position());
+            src.position(src.limit());
+            dst.position(dst.position() + len);
+            return len;
+        }
+
+        if (iv == null) {
+            // 未设置初始向量, 使用默认数组
+            iv = defaultIv;
+        }
+        CipherEngine engine = engines.get();
+        int srcPosition = src.position();
+        int dstPosition = dst.position();
+        try {
+            BufferedBlockCipher cipher = engine.init(forEncryption, key, iv);
+            // 直接缓冲区使用固定大小的数组分段处理
+            byte[] in = engine.in();
+            byte[] out = engine.out();
+            while (src.hasRemaining()) {
+                int len = Math.min(in.length, src.remaining());
+                src.get(in, 0, len);
+                dst.put(out, 0, cipher.processBytes(in, 0, len, out, 0));
+            }
+            dst.put(out, 0, cipher.doFinal(out, 0));
+            return dst.position() - dstPosition;
+        } catch (RuntimeException | InvalidCipherTextException e) {
+            // 包括目标缓冲区空间不足的BufferOverflowException
+            // 异常后引擎状态未知, 下次使用时重新初始化
+            engine.invalidate();
+            src.position(srcPosition);
+            dst.position(dstPosition);
+            throw e;
+        }
+    }
+
+    /**
+     * 创建新的加解密对象并初始化, 用于流式处理, 不与线程内引擎共享状态
+     */
+    private BufferedBlockCipher newCipher(boolean forEncryption, byte[] key, byte[] iv) {
+        Objects.requireNonNull(key, "key不能为空!");
+        BufferedBlockCipher cipher = newEngine().cipher;
+        cipher.init(forEncryption, new ParametersWithIV(new KeyParameter(key), iv == null ? defaultIv : iv));
+        return cipher;
+    }
+
+    /**
+     * 流式数据操作, 使用固定大小的缓冲区分段处理, 不关闭流
+     *
+     * @param forEncryption 是否加密
+     * @param key           密钥
+     * @param iv            初始向量
+     * @param is            输入流
+     * @param os            输出流
+     * @return 写入输出流的长度
+     */
+    private long operate(boolean forEncryption, byte[] key, byte[] iv, InputStream is, OutputStream os) throws Exception {
+        Objects.requireNonNull(is, "is不能为空!");
+        Objects.requireNonNull(os, "os不能为空!");
+        BufferedBlockCipher cipher = newCipher(forEncryption, key, iv);
+        byte[] in = new byte[IOUtil.BUFFER_SIZE];
+        byte[] out = new byte[cipher.getOutputSize(in.length)];
+        long total = 0;
+        for (int len; (len = is.read(in)) != -1; ) {
+            int processLen = cipher.processBytes(in, 0, len, out, 0);
+            os.write(out, 0, processLen);
+            total += processLen;
+        }
+        int finalLen = cipher.doFinal(out, 0);
+        os.write(out, 0, finalLen);
+        os.flush();
+        return total + finalLen;
+    }
+
+    /**
+     * 通道数据操作, 使用固定大小的缓冲区分段处理, 不关闭通道
+     *
+     * @param forEncryption 是否加密
+     * @param key           密钥
+     * @param iv            初始向量
+     * @param src           源通道
+     * @param dest          目标通道
+     * @return 写入目标通道的长度
+     */
+    private long operate(boolean forEncryption, byte[] key, byte[] iv, ReadableByteChannel src, WritableByteChannel dest) throws Exception {
+        Objects.requireNonNull(src, "src不能为空!");
+        Objects.requireNonNull(dest, "dest不能为空!");
+        BufferedBlockCipher cipher = newCipher(forEncryption, key, iv);
+        byte[] in = new byte[IOUtil.BUFFER_SIZE];
+        byte[] out = new byte[cipher.getOutputSize(in.length)];
+        ByteBuffer inBuf = ByteBuffer.wrap(in);
+        long total = 0;
+        for (int len; (len = src.read(inBuf)) != -1; inBuf.clear()) {
+            int processLen = cipher.processBytes(in, 0, len, out, 0);
+            total += write(dest, out, processLen);
+        }
+        return total + write(dest, out, cipher.doFinal(out, 0));
+    }
+
+    private static int write(WritableByteChannel dest, byte[] buf, int len) throws Exception {
+        ByteBuffer outBuf = ByteBuffer.wrap(buf, 0, len);
+        while (outBuf.hasRemaining()) {
+            dest.write(outBuf);
+        }
+        return len;
+    }
+
+    /**
+     * 加密数据长度为len时加密结果的长度
+     */
+    public int getEncryptOutputSize(int len) {
+        return (len / blockSize + 1) * blockSize;
     }
 
     /**
@@ -212,4 +479,377 @@ public enum SymmetricAlgorithm implements EncryptionAlgorithm {
             throw new RuntimeException("decrypt error: ", e);
         }
     }
+
+    /**
+     * 加密数据, 结果写入目标数组, 目标数组剩余空间不能小于getEncryptOutputSize(len)
+     *
+     * @param key    密钥
+     * @param iv     初始向量, 为null时使用默认初始向量
+     * @param data   数据
+     * @param off    数据起始位置
+     * @param len    数据长度
+     * @param out    目标数组
+     * @param outOff 目标数组起始位置
+     * @return 写入目标数组的长度
+     */
+    public int encrypt(byte[] key, byte[] iv, byte[] data, int off, int len, byte[] out, int outOff) {
+        try {
+            return operate(true, key, iv, data, off, len, out, outOff);
+        } catch (Exception e) {
+            throw new RuntimeException("encrypt error: ", e);
+        }
+    }
+
+    /**
+     * 解密数据, 结果写入目标数组, 目标数组剩余空间不能小于len
+     *
+     * @param key    密钥
+     * @param iv     初始向量, 为null时使用默认初始向量
+     * @param data   数据
+     * @param off    数据起始位置
+     * @param len    数据长度
+     * @param out    目标数组
+     * @param outOff 目标数组起始位置
+     * @return 写入目标数组的长度
+     */
+    public int decrypt(byte[] key, byte[] iv, byte[] data, int off, int len, byte[] out, int outOff) {
+        try {
+            return operate(false, key, iv, data, off, len, out, outOff);
+        } catch (Exception e) {
+            throw new RuntimeException("decrypt error: ", e);
+        }
+    }
+
+    /**
+     * 加密源缓冲区position到limit之间的数据写入目标缓冲区, 支持直接缓冲区, 不会将整个数据拷贝到堆中,
+     * 目标缓冲区剩余空间不能小于getEncryptOutputSize(src.remaining())
+     *
+     * @param key 密钥
+     * @param iv  初始向量, 为null时使用默认初始向量
+     * @param src 明文缓冲区, 成功后position移动到limit
+     * @param dst 密文缓冲区, 成功后position后移写入的长度
+     * @return 写入目标缓冲区的长度
+     */
+    public int encrypt(byte[] key, byte[] iv, ByteBuffer src, ByteBuffer dst) {
+        try {
+            return operate(true, key, iv, src, dst);
+        } catch (Exception e) {
+            throw new RuntimeException("encrypt error: ", e);
+        }
+    }
+
+    /**
+     * 解密源缓冲区position到limit之间的数据写入目标缓冲区, 支持直接缓冲区, 不会将整个数据拷贝到堆中,
+     * 目标缓冲区剩余空间不足时抛出异常
+     *
+     * @param key 密钥
+     * @param iv  初始向量, 为null时使用默认初始向量
+     * @param src 密文缓冲区, 成功后position移动到limit
+     * @param dst 明文缓冲区, 成功后position后移写入的长度
+     * @return 写入目标缓冲区的长度
+     */
+    public int decrypt(byte[] key, byte[] iv, ByteBuffer src, ByteBuffer dst) {
+        try {
+            return operate(false, key, iv, src, dst);
+        } catch (Exception e) {
+            throw new RuntimeException("decrypt error: ", e);
+        }
+    }
+
+    /**
+     * 加密输入流数据写入输出流, 使用固定大小的缓冲区分段处理, 不关闭流
+     *
+     * @param key 密钥
+     * @param iv  初始向量, 为null时使用默认初始向量
+     * @param is  明文输入流
+     * @param os  密文输出流
+     * @return 写入输出流的长度
+     */
+    public long encrypt(byte[] key, byte[] iv, InputStream is, OutputStream os) {
+        try {
+            return operate(true, key, iv, is, os);
+        } catch (Exception e) {
+            throw new RuntimeException("encrypt error: ", e);
+        }
+    }
+
+    /**
+     * 解密输入流数据写入输出流, 使用固定大小的缓冲区分段处理, 不关闭流
+     *
+     * @param key 密钥
+     * @param iv  初始向量, 为null时使用默认初始向量
+     * @param is  密文输入流
+     * @param os  明文输出流
+     * @return 写入输出流的长度
+     */
+    public long decrypt(byte[] key, byte[] iv, InputStream is, OutputStream os) {
+        try {
+            return operate(false, key, iv, is, os);
+        } catch (Exception e) {
+            throw new RuntimeException("decrypt error: ", e);
+        }
+    }
+
+    /**
+     * 加密源通道数据写入目标通道, 如FileChannel到FileChannel, 使用固定大小的缓冲区分段处理, 不关闭通道
+     *
+     * @param key  密钥
+     * @param iv   初始向量, 为null时使用默认初始向量
+     * @param src  明文通道
+     * @param dest 密文通道
+     * @return 写入目标通道的长度
+     */
+    public long encrypt(byte[] key, byte[] iv, ReadableByteChannel src, WritableByteChannel dest) {
+        try {
+            return operate(true, key, iv, src, dest);
+        } catch (Exception e) {
+            throw new RuntimeException("encrypt error: ", e);
+        }
+    }
+
+    /**
+     * 解密源通道数据写入目标通道, 如FileChannel到FileChannel, 使用固定大小的缓冲区分段处理, 不关闭通道
+     *
+     * @param key  密钥
+     * @param iv   初始向量, 为null时使用默认初始向量
+     * @param src  密文通道
+     * @param dest 明文通道
+     * @return 写入目标通道的长度
+     */
+    public long decrypt(byte[] key, byte[] iv, ReadableByteChannel src, WritableByteChannel dest) {
+        try {
+            return operate(false, key, iv, src, dest);
+        } catch (Exception e) {
+            throw new RuntimeException("decrypt error: ", e);
+        }
+    }
+
+    /**
+     * 包装输出流, 写入的明文加密后写入原输出流, 关闭时写入填充数据
+     */
+    public OutputStream encryptOutputStream(byte[] key, byte[] iv, OutputStream os) {
+        Objects.requireNonNull(os, "os不能为空!");
+        return new CipherOutputStream(os, newCipher(true, key, iv));
+    }
+
+    /**
+     * 包装输出流, 写入的密文解密后写入原输出流, 关闭时校验并去除填充数据
+     */
+    public OutputStream decryptOutputStream(byte[] key, byte[] iv, OutputStream os) {
+        Objects.requireNonNull(os, "os不能为空!");
+        return new CipherOutputStream(os, newCipher(false, key, iv));
+    }
+
+    /**
+     * 包装输入流, 读取原输入流的明文并返回加密后的数据
+     */
+    public InputStream encryptInputStream(byte[] key, byte[] iv, InputStream is) {
+        Objects.requireNonNull(is, "is不能为空!");
+        return new CipherInputStream(is, newCipher(true, key, iv));
+    }
+
+    /**
+     * 包装输入流, 读取原输入流的密文并返回解密后的数据
+     */
+    public InputStream decryptInputStream(byte[] key, byte[] iv, InputStream is) {
+        Objects.requireNonNull(is, "is不能为空!");
+        return new CipherInputStream(is, newCipher(false, key, iv));
+    }
+
+    /**
+     * 分段认证加密(AES-GCM), 使用默认分段大小在ForkJoinPool.commonPool()中并行加密
+     *
+     * @param key  密钥
+     * @param data 明文
+     * @return 头部 + 每个分段的密文和认证标签
+     */
+    public byte[] encryptChunked(byte[] key, byte[] data) {
+        return encryptChunked(key, data, DEFAULT_CHUNK_SIZE, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 分段认证加密(AES-GCM), 每条消息使用随机盐派生的子密钥, 每个分段使用独立的随机数和认证标签, 可并行加密、并行解密和按分段随机读取
+     *
+     * @param key       密钥
+     * @param data      明文
+     * @param chunkSize 分段大小
+     * @param pool      并行加密的线程池
+     * @return 头部 + 每个分段的密文和认证标签
+     */
+    public byte[] encryptChunked(byte[] key, byte[] data, int chunkSize, ForkJoinPool pool) {
+        Objects.requireNonNull(key, "key不能为空!");
+        Objects.requireNonNull(data, "data不能为空!");
+        Objects.requireNonNull(pool, "pool不能为空!");
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize必须大于0!");
+        }
+        int count = chunkCount(data.length, chunkSize);
+        long size = CHUNKED_HEADER_SIZE + (long) data.length + (long) count * CHUNKED_TAG_SIZE;
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("data过大!");
+        }
+        byte[] result = new byte[(int) size];
+        ByteBuffer header = ByteBuffer.wrap(result, 0, CHUNKED_HEADER_SIZE);
+        header.put(CHUNKED_VERSION).putInt(chunkSize).putLong(data.length);
+        byte[] random = new byte[CHUNKED_SALT_SIZE + CHUNKED_NONCE_PREFIX_SIZE];
+        RandomUtil.getDefaultSecureRandom().nextBytes(random);
+        header.put(random);
+        byte[] aad = Arrays.copyOf(result, CHUNKED_HEADER_SIZE);
+        byte[] chunkKey = chunkKey(key, aad);
+        try {
+            pool.submit(() -> IntStream.range(0, count).parallel().forEach(index -> {
+                int off = index * chunkSize;
+                int len = Math.min(chunkSize, data.length - off);
+                int outOff = CHUNKED_HEADER_SIZE + off + index * CHUNKED_TAG_SIZE;
+                try {
+                    GCMBlockCipher cipher = newChunkCipher(true, chunkKey, aad, index);
+                    int processLen = cipher.processBytes(data, off, len, result, outOff);
+                    cipher.doFinal(result, outOff + processLen);
+                } catch (InvalidCipherTextException e) {
+                    throw new IllegalStateException(e.getMessage(), e);
+                }
+            })).get();
+        } catch (Exception e) {
+            throw new RuntimeException("encrypt error: ", e);
+        }
+        return result;
+    }
+
+    /**
+     * 分段认证解密, 在ForkJoinPool.commonPool()中并行解密并校验所有分段
+     */
+    public byte[] decryptChunked(byte[] key, byte[] data) {
+        return decryptChunked(key, data, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 分段认证解密, 在指定线程池中并行解密并校验所有分段, 任意分段校验失败抛出异常
+     */
+    public byte[] decryptChunked(byte[] key, byte[] data, ForkJoinPool pool) {
+        Objects.requireNonNull(key, "key不能为空!");
+        Objects.requireNonNull(pool, "pool不能为空!");
+        int chunkSize = chunkedSize(data);
+        int length = (int) ByteBuffer.wrap(data, 5, 8).getLong();
+        int count = chunkCount(length, chunkSize);
+        byte[] aad = Arrays.copyOf(data, CHUNKED_HEADER_SIZE);
+        byte[] chunkKey = chunkKey(key, aad);
+        byte[] result = new byte[length];
+        try {
+            pool.submit(() -> IntStream.range(0, count).parallel().forEach(index -> {
+                int off = index * chunkSize;
+                decryptChunk(chunkKey, data, aad, index, Math.min(chunkSize, length - off), result, off);
+            })).get();
+        } catch (Exception e) {
+            throw new RuntimeException("decrypt error: ", e);
+        }
+        return result;
+    }
+
+    /**
+     * 按分段索引随机读取, 只解密并校验指定分段
+     *
+     * @param key   密钥
+     * @param data  分段认证加密结果
+     * @param index 分段索引
+     * @return 分段明文
+     */
+    public byte[] decryptChunk(byte[] key, byte[] data, int index) {
+        Objects.requireNonNull(key, "key不能为空!");
+        int chunkSize = chunkedSize(data);
+        long length = ByteBuffer.wrap(data, 5, 8).getLong();
+        if (index < 0 || index >= chunkCount(length, chunkSize)) {
+            throw new IndexOutOfBoundsException("index: " + index);
+        }
+        byte[] result = new byte[(int) Math.min(chunkSize, length - (long) index * chunkSize)];
+        try {
+            byte[] aad = Arrays.copyOf(data, CHUNKED_HEADER_SIZE);
+            decryptChunk(chunkKey(key, aad), data, aad, index, result.length, result, 0);
+        } catch (Exception e) {
+            throw new RuntimeException("decrypt error: ", e);
+        }
+        return result;
+    }
+
+    /**
+     * 分段认证加密结果中明文的长度
+     */
+    public long getChunkedLength(byte[] data) {
+        chunkedSize(data);
+        return ByteBuffer.wrap(data, 5, 8).getLong();
+    }
+
+    /**
+     * 校验分段认证加密头部, 返回分段大小
+     */
+    private static int chunkedSize(byte[] data) {
+        Objects.requireNonNull(data, "data不能为空!");
+        if (data.length < CHUNKED_HEADER_SIZE || data[0] != CHUNKED_VERSION) {
+            throw new IllegalArgumentException("非分段加密数据!");
+        }
+        ByteBuffer header = ByteBuffer.wrap(data, 1, 12);
+        int chunkSize = header.getInt();
+        long length = header.getLong();
+        if (chunkSize <= 0 || length < 0
+                || data.length != CHUNKED_HEADER_SIZE + length + (long) chunkCount(length, chunkSize) * CHUNKED_TAG_SIZE) {
+            throw new IllegalArgumentException("分段加密数据不完整!");
+        }
+        return chunkSize;
+    }
+
+    /**
+     * 分段数量, 空数据也包含一个分段用于认证头部
+     */
+    private static int chunkCount(long length, int chunkSize) {
+        return (int) Math.max(1, (length + chunkSize - 1) / chunkSize);
+    }
+
+    /**
+     * 使用头部的盐从密钥派生本条消息的子密钥, 长度与密钥相同
+     */
+    private static byte[] chunkKey(byte[] key, byte[] aad) {
+        byte[] salt = Arrays.copyOfRange(aad, CHUNKED_HEADER_SIZE - CHUNKED_NONCE_PREFIX_SIZE - CHUNKED_SALT_SIZE,
+                CHUNKED_HEADER_SIZE - CHUNKED_NONCE_PREFIX_SIZE);
+        HKDFBytesGenerator generator = new HKDFBytesGenerator(new SHA256Digest());
+        generator.init(new HKDFParameters(key, salt, new byte[]{CHUNKED_VERSION}));
+        byte[] chunkKey = new byte[key.length];
+        generator.generateBytes(chunkKey, 0, chunkKey.length);
+        return chunkKey;
+    }
+
+    /**
+     * 使用子密钥解密并校验一个分段
+     */
+    private void decryptChunk(byte[] key, byte[] data, byte[] aad, int index, int len, byte[] out, int outOff) {
+        int chunkSize = ByteBuffer.wrap(data, 1, 4).getInt();
+        int off = CHUNKED_HEADER_SIZE + index * (chunkSize + CHUNKED_TAG_SIZE);
+        try {
+            GCMBlockCipher cipher = newChunkCipher(false, key, aad, index);
+            int processLen = cipher.processBytes(data, off, len + CHUNKED_TAG_SIZE, out, outOff);
+            cipher.doFinal(out, outOff + processLen);
+        } catch (InvalidCipherTextException e) {
+            throw new IllegalStateException("chunk " + index + " verify failed: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 创建分段的GCM加解密对象, 密钥为本条消息的子密钥, 随机数为头部随机数前缀 + 分段索引, 头部作为附加认证数据
+     */
+    private GCMBlockCipher newChunkCipher(boolean forEncryption, byte[] key, byte[] aad, int index) {
+        byte[] nonce = new byte[CHUNKED_NONCE_PREFIX_SIZE + 4];
+        System.arraycopy(aad, CHUNKED_HEADER_SIZE - CHUNKED_NONCE_PREFIX_SIZE, nonce, 0, CHUNKED_NONCE_PREFIX_SIZE);
+        ByteBuffer.wrap(nonce, CHUNKED_NONCE_PREFIX_SIZE, 4).putInt(index);
+        return newGcmCipher(forEncryption, key, nonce, aad);
+    }
+
+    /**
+     * 创建GCM认证加解密对象, 认证标签长度16字节
+     *
+     * @param nonce 随机数, 同一密钥下不能重复
+     * @param aad   附加认证数据, 可以为null
+     */
+    GCMBlockCipher newGcmCipher(boolean forEncryption, byte[] key, byte[] nonce, byte[] aad) {
+        GCMBlockCipher cipher = new GCMBlockCipher(engineFactory.get());
+        cipher.init(forEncryption, new AEADParameters(new KeyParameter(key), CHUNKED_TAG_SIZE << 3, nonce, aad));
+        return cipher;
+    }
 }